@@ -8,16 +8,23 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.robinhowlett.chartparser.cache.ParseResultCache;
 import com.robinhowlett.chartparser.charts.pdf.*;
 import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.charts.pdf.Starter.Claim;
 import com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.InvalidRaceException;
 import com.robinhowlett.chartparser.charts.pdf.Winner.NoWinnersDeclaredException;
 import com.robinhowlett.chartparser.charts.pdf.running_line.PastPerformanceRunningLinePreview;
-import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLine;
-import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumnIndex;
-import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineHeader;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumns;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineLayoutCache;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools;
+import com.robinhowlett.chartparser.charts.text.ChartCharacterStreamEngine;
+import com.robinhowlett.chartparser.charts.text.ChartCharacterStripper;
+import com.robinhowlett.chartparser.charts.text.ChartLoader;
+import com.robinhowlett.chartparser.charts.text.ChartPageCache;
+import com.robinhowlett.chartparser.charts.text.ChartSource;
+import com.robinhowlett.chartparser.charts.text.ChartPageCache.CachedChartPages;
 import com.robinhowlett.chartparser.charts.text.ChartStripper;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import com.robinhowlett.chartparser.formats.SimpleLocalDateDeserializer;
@@ -31,6 +38,7 @@ import com.robinhowlett.chartparser.tracks.Track;
 import com.robinhowlett.chartparser.tracks.TrackRepository;
 import com.robinhowlett.chartparser.tracks.TrackService;
 
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
 import org.apache.pdfbox.multipdf.Splitter;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
@@ -39,18 +47,34 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.TreeSet;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
 import static com.robinhowlett.chartparser.charts.pdf.TrackRaceDateRaceNumber.NoLinesToParse;
 
 /**
@@ -60,33 +84,77 @@ public class ChartParser {
     public static final Pattern COPYRIGHT_PATTERN =
             Pattern.compile("^Copyright (\\d+) Equibase Company LLC. All Rights Reserved\\.$");
 
+    /**
+     * Part of the keys of a {@link ParseResultCache}; increment whenever a change to the parsing
+     * means previously cached results would differ from newly parsed results
+     */
+    public static final String PARSER_VERSION = "1";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(ChartParser.class);
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
     private static ObjectMapper mapper;
     private static CsvMapper csvMapper;
 
     protected final TrackService trackService;
     protected final FractionalService fractionalService;
     protected final PointsOfCallService pointsOfCallService;
+    // when null, the pages of a PDF are extracted one after another on the calling thread
+    protected final ExecutorService extractionExecutor;
+    // when null, the starters of each race are parsed one after another on the calling thread
+    protected final ExecutorService starterExecutor;
+    // when null, the pages of every PDF are extracted by PDFBox
+    protected final ChartPageCache chartPageCache;
+    // when null, every PDF is extracted and parsed
+    protected final ParseResultCache parseResultCache;
+    protected final String parserVersion;
+    protected final ChartLoader chartLoader;
+    protected final RunningLineLayoutCache runningLineLayoutCache;
 
     public ChartParser(TrackService trackService, FractionalService fractionalService,
             PointsOfCallService pointsOfCallService) {
-        this.trackService = trackService;
-        this.fractionalService = fractionalService;
-        this.pointsOfCallService = pointsOfCallService;
+        this(trackService, fractionalService, pointsOfCallService, null);
     }
 
-    public static ChartParser create() {
-        ObjectMapper jsonMapper = getObjectMapper();
+    public ChartParser(TrackService trackService, FractionalService fractionalService,
+            PointsOfCallService pointsOfCallService, ExecutorService extractionExecutor) {
+        this(new Builder()
+                .trackService(trackService)
+                .fractionalService(fractionalService)
+                .pointsOfCallService(pointsOfCallService)
+                .extractionExecutor(extractionExecutor));
+    }
 
-        CsvMapper csvMapper = getCsvMapper();
+    protected ChartParser(Builder builder) {
+        this.trackService = builder.trackService;
+        this.fractionalService = builder.fractionalService;
+        this.pointsOfCallService = builder.pointsOfCallService;
+        this.extractionExecutor = builder.extractionExecutor;
+        this.starterExecutor = builder.starterExecutor;
+        this.chartPageCache = builder.chartPageCache;
+        this.parseResultCache = builder.parseResultCache;
+        this.parserVersion = builder.parserVersion;
+        this.chartLoader = builder.chartLoader;
+        this.runningLineLayoutCache = builder.runningLineLayoutCache;
+    }
 
-        TrackService trackService = new TrackService(new TrackRepository(csvMapper));
-        FractionalService fractionalService = new FractionalService(
-                new FractionalPointRepository(jsonMapper));
-        PointsOfCallService pointsOfCallService = new PointsOfCallService(
-                new PointsOfCallRepository(jsonMapper));
+    public static ChartParser create() {
+        return new Builder().build();
+    }
 
-        return new ChartParser(trackService, fractionalService, pointsOfCallService);
+    /**
+     * Creates a parser that extracts the pages of each PDF in parallel using the {@link
+     * ExecutorService} provided. The executor is not shut down by the parser
+     */
+    public static ChartParser create(ExecutorService extractionExecutor) {
+        return new Builder().extractionExecutor(extractionExecutor).build();
+    }
+
+    /**
+     * The cache of the running line header layouts of the races parsed, with its hit and miss
+     * counts
+     */
+    public RunningLineLayoutCache getRunningLineLayoutCache() {
+        return runningLineLayoutCache;
     }
 
     public static ObjectMapper getObjectMapper() {
@@ -121,309 +189,549 @@ public class ChartParser {
     }
 
     public List<RaceResult> parse(File pdfChartFile) {
-        List<RaceResult> raceResults = new ArrayList<>();
+        return parse(ChartSource.of(pdfChartFile));
+    }
+
+    public List<RaceResult> parse(Path pdfChartPath) {
+        return parse(ChartSource.of(pdfChartPath));
+    }
+
+    /**
+     * Parses the PDF bytes (e.g. an HTTP payload) directly, without writing them to a file. The
+     * label identifies the PDF in log messages
+     */
+    public List<RaceResult> parse(byte[] pdfChartBytes, String label) {
+        return parse(ChartSource.of(pdfChartBytes, label));
+    }
 
-        List<String> chartCsvs;
+    /**
+     * As {@link #parse(byte[], String)}, for the bytes between the buffer's position and limit,
+     * which can be a heap, direct, or memory-mapped buffer
+     */
+    public List<RaceResult> parse(ByteBuffer pdfChartBuffer, String label) {
+        return parse(ChartSource.of(pdfChartBuffer, label));
+    }
+
+    /**
+     * As {@link #parse(byte[], String)}, for the bytes of the stream, which is read in full and
+     * closed
+     */
+    public List<RaceResult> parse(InputStream pdfChartStream, String label) {
         try {
-            chartCsvs = convertToCsv(pdfChartFile);
-        } catch (ChartParserException e) {
-            LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, 0));
-            return raceResults;
+            return parse(ChartSource.of(pdfChartStream, label));
+        } catch (IOException e) {
+            LOGGER.error(String.format("Unable to read %s", label), e);
+            return new ArrayList<>();
         }
+    }
 
-        for (int index = 0; index < chartCsvs.size(); index++) {
-            String chartCsv = chartCsvs.get(index);
-            List<ChartCharacter> chartCharacters;
+    public List<RaceResult> parse(ChartSource chartSource) {
+        String key = null;
+        if (parseResultCache != null) {
             try {
-                chartCharacters = convertToChartCharacters(chartCsv);
-            } catch (ChartParserException e) {
-                LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, index));
-                continue;
+                key = createParseResultKey(chartSource);
+                Optional<List<RaceResult>> cachedRaceResults = parseResultCache.get(key);
+                if (cachedRaceResults.isPresent()) {
+                    return cachedRaceResults.get();
+                }
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
             }
-            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
+        }
 
-            RaceResult.Builder raceResultBuilder = new RaceResult.Builder();
+        ExtractedPages<ChartPage> pages = extractEachChartPage(chartSource);
+        List<RaceResult> raceResults =
+                parseRaceResults(chartSource, combineContinuedCharts(pages.getPages()));
 
+        // nothing is cached unless every page of the PDF was read, as it may be read next time
+        if (key != null && pages.isComplete() && !raceResults.isEmpty()) {
+            parseResultCache.put(key, raceResults);
+        }
+        return raceResults;
+    }
+
+    /**
+     * The key of the PDF's results in the {@link ParseResultCache}: the SHA-256 digest of the
+     * PDF's content and the version of the parser
+     */
+    String createParseResultKey(File pdfChartFile) throws IOException {
+        return createParseResultKey(ChartSource.of(pdfChartFile));
+    }
+
+    String createParseResultKey(ChartSource chartSource) throws IOException {
+        return chartSource.sha256Hex() + "-" + parserVersion;
+    }
+
+    // the pages of the PDF (from the page cache, if any), extracted with the executor (if any)
+    ExtractedPages<ChartPage> extractEachChartPage(ChartSource chartSource) {
+        return extractEachChartPage(chartSource, chartLoader, extractionExecutor, chartPageCache);
+    }
+
+    private List<RaceResult> parseRaceResults(ChartSource chartSource, List<ChartPage> charts) {
+        List<RaceResult> raceResults = new ArrayList<>();
+
+        for (int index = 0; index < charts.size(); index++) {
+            Optional<RaceResult> raceResult = parse(charts.get(index), chartSource, index);
+            if (raceResult.isPresent()) {
+                raceResults.add(raceResult.get());
+            }
+        }
+
+        return raceResults;
+    }
+
+    /**
+     * Lazily extracts and parses one chart at a time, so only a single chart (or two pages, for a
+     * chart that continues on to the next page) is held in memory. Charts that cannot be parsed
+     * are logged and skipped, as with {@link #parse(File)}. The PDF is kept open until the stream
+     * is closed, so it should be used within a try-with-resources block. The extraction executor
+     * (if any) is not used. Cached results (or, failing that, cached pages) are used if available
+     * but, as the results and pages are not all held at once, newly parsed results and newly
+     * extracted pages are not cached
+     */
+    public Stream<RaceResult> stream(File pdfChartFile) {
+        return stream(ChartSource.of(pdfChartFile));
+    }
+
+    /**
+     * As {@link #stream(File)}, for a PDF from any {@link ChartSource} (e.g. bytes in memory)
+     */
+    public Stream<RaceResult> stream(ChartSource chartSource) {
+        if (parseResultCache != null) {
             try {
-                TrackRaceDateRaceNumber trackRaceDateRaceNumber =
-                        TrackRaceDateRaceNumber.parse(lines);
-
-                Optional<Track> track = trackService.getTrackWithName(
-                        trackRaceDateRaceNumber.getTrackName());
-                if (!track.isPresent()) {
-                    throw new ChartParserException(String.format("Unable to find Track with name:" +
-                            " %s", trackRaceDateRaceNumber.getTrackName()));
+                Optional<List<RaceResult>> cachedRaceResults =
+                        parseResultCache.get(createParseResultKey(chartSource));
+                if (cachedRaceResults.isPresent()) {
+                    return cachedRaceResults.get().stream();
                 }
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
 
-                // Track
-                // Race Date
-                // Race Number
-                raceResultBuilder.track(track.get())
-                        .raceDate(trackRaceDateRaceNumber.getRaceDate())
-                        .raceNumber(trackRaceDateRaceNumber.getRaceNumber());
-
-                // Check for Cancellation
-                Cancellation cancellation = Cancellation.parse(lines);
-                raceResultBuilder.cancellation(cancellation);
-                if (cancellation.isCancelled()) {
-                    RaceResult raceResult = raceResultBuilder.build();
-                    raceResults.add(raceResult);
-                    continue;
-                }
+        if (chartPageCache != null) {
+            Optional<CachedChartPages> cachedChartPages =
+                    getCachedChartPages(chartSource, chartPageCache);
+            if (cachedChartPages.isPresent()) {
+                CachedChartPages pages = cachedChartPages.get();
+                return stream(new RaceResultIterator(pages::getPage, pages.getPageCount(),
+                        chartSource));
+            }
+        }
 
-                // Race Type
-                // Race Name
-                // Race Grade, Stakes Indicator, Black Type categorization
-                // Breed
-                RaceTypeNameBlackTypeBreed raceTypeNameBlackTypeBreed =
-                        RaceTypeNameBlackTypeBreed.parse(lines);
-                raceResultBuilder.raceTypeAndRaceNameAndBlackTypeAndBreed(
-                        raceTypeNameBlackTypeBreed);
-
-                // Race Conditions
-                RaceConditions raceConditions =
-                        RaceConditions.parse(lines);
-                raceResultBuilder.raceConditionsAndClaimingPricesRange(
-                        raceConditions);
-
-                // Race Distance
-                // Surface
-                // Track Record
-                DistanceSurfaceTrackRecord distanceSurfaceTrackRecord =
-                        DistanceSurfaceTrackRecord.parse(lines);
-                raceResultBuilder.distanceAndSurfaceAndTrackRecord(distanceSurfaceTrackRecord);
-
-                // Purse
-                Purse purse = Purse.parse(lines);
-                raceResultBuilder.purse(purse);
-
-                // Wind Speed
-                // Wind Direction
-                Optional<WindSpeedDirection> windSpeedDirection =
-                        WindSpeedDirection.parse(lines);
-                if (windSpeedDirection.isPresent()) {
-                    raceResultBuilder.windSpeedAndDirection(windSpeedDirection.get());
-                }
+        PDDocument raceCharts;
+        try {
+            raceCharts = chartLoader.load(chartSource);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return Stream.empty();
+        }
 
-                // Weather Description
-                // Track Condition
-                Optional<WeatherTrackCondition> weatherTrackCondition =
-                        WeatherTrackCondition.parse(lines);
-                if (weatherTrackCondition.isPresent()) {
-                    raceResultBuilder.weatherAndTrackCondition(weatherTrackCondition.get());
-                }
+        Iterator<RaceResult> raceResults = new RaceResultIterator(
+                pageNumber -> separateIntoLines(createChartPage(raceCharts, pageNumber)),
+                raceCharts.getNumberOfPages(), chartSource);
+        return stream(raceResults).onClose(() -> {
+            try {
+                raceCharts.close();
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        });
+    }
 
-                // Post Time
-                // Start Comments
-                // Timer Type
-                Optional<PostTimeStartCommentsTimer> postTimeStartCommentsTimer =
-                        PostTimeStartCommentsTimer.parse(lines);
-                if (postTimeStartCommentsTimer.isPresent()) {
-                    raceResultBuilder.postTimeAndStartCommentsAndTimer(
-                            postTimeStartCommentsTimer.get());
-                }
+    private static Stream<RaceResult> stream(Iterator<RaceResult> raceResults) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(raceResults,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
 
-                List<List<ChartCharacter>> runningLines = getRunningLines(lines);
-                List<ChartCharacter> headerCharacters = runningLines.get(0);
-                TreeSet<RunningLineColumnIndex> runningLineColumnIndices =
-                        RunningLineHeader.createIndexOfRunningLineColumns(headerCharacters);
+    /**
+     * Parses a single chart (the {@code index}-th of the PDF) into a {@link RaceResult}, logging
+     * and returning empty if the chart could not be parsed
+     */
+    Optional<RaceResult> parse(ChartPage page, ChartSource chartSource, int index) {
+        RaceResult.Builder raceResultBuilder = new RaceResult.Builder();
 
-                // remove running line header
-                runningLines = runningLines.subList(1, runningLines.size());
+        try {
+            TrackRaceDateRaceNumber trackRaceDateRaceNumber =
+                    TrackRaceDateRaceNumber.parse(page);
+
+            Optional<Track> track = trackService.getTrackWithName(
+                    trackRaceDateRaceNumber.getTrackName());
+            if (!track.isPresent()) {
+                throw new ChartParserException(String.format("Unable to find Track with name:" +
+                        " %s", trackRaceDateRaceNumber.getTrackName()));
+            }
 
-                runningLines = SplitTimes.removeSplitTimesIfPresent(runningLines);
+            // Track
+            // Race Date
+            // Race Number
+            raceResultBuilder.track(track.get())
+                    .raceDate(trackRaceDateRaceNumber.getRaceDate())
+                    .raceNumber(trackRaceDateRaceNumber.getRaceNumber());
+
+            // Check for Cancellation
+            Cancellation cancellation = Cancellation.parse(page);
+            raceResultBuilder.cancellation(cancellation);
+            if (cancellation.isCancelled()) {
+                RaceResult raceResult = raceResultBuilder.build();
+                return Optional.of(raceResult);
+            }
 
-                RaceDistance raceDistance = distanceSurfaceTrackRecord.getRaceDistance();
+            // Race Type
+            // Race Name
+            // Race Grade, Stakes Indicator, Black Type categorization
+            // Breed
+            RaceTypeNameBlackTypeBreed raceTypeNameBlackTypeBreed =
+                    RaceTypeNameBlackTypeBreed.parse(page);
+            raceResultBuilder.raceTypeAndRaceNameAndBlackTypeAndBreed(
+                    raceTypeNameBlackTypeBreed);
+
+            // Race Conditions
+            RaceConditions raceConditions =
+                    RaceConditions.parse(page);
+            raceResultBuilder.raceConditionsAndClaimingPricesRange(
+                    raceConditions);
+
+            // Race Distance
+            // Surface
+            // Track Record
+            DistanceSurfaceTrackRecord distanceSurfaceTrackRecord =
+                    DistanceSurfaceTrackRecord.parse(page);
+            raceResultBuilder.distanceAndSurfaceAndTrackRecord(distanceSurfaceTrackRecord);
+
+            // Purse
+            Purse purse = Purse.parse(page);
+            raceResultBuilder.purse(purse);
+
+            // Wind Speed
+            // Wind Direction
+            Optional<WindSpeedDirection> windSpeedDirection =
+                    WindSpeedDirection.parse(page);
+            if (windSpeedDirection.isPresent()) {
+                raceResultBuilder.windSpeedAndDirection(windSpeedDirection.get());
+            }
 
-                // Race Fractions
-                ArrayList<String> fractions = FractionalTimes.parse(runningLines);
-                List<FractionalPoint.Fractional> fractionalPointsForDistance =
-                        fractionalService.getFractionalPointsForDistance(fractions,
-                                raceDistance.getValue(), raceTypeNameBlackTypeBreed.getBreed());
-                raceResultBuilder.fractionals(fractionalPointsForDistance);
+            // Weather Description
+            // Track Condition
+            Optional<WeatherTrackCondition> weatherTrackCondition =
+                    WeatherTrackCondition.parse(page);
+            if (weatherTrackCondition.isPresent()) {
+                raceResultBuilder.weatherAndTrackCondition(weatherTrackCondition.get());
+            }
 
-                // Run-Up
-                raceResultBuilder.runUp(RunUp.parse(runningLines));
+            // Post Time
+            // Start Comments
+            // Timer Type
+            Optional<PostTimeStartCommentsTimer> postTimeStartCommentsTimer =
+                    PostTimeStartCommentsTimer.parse(page);
+            if (postTimeStartCommentsTimer.isPresent()) {
+                raceResultBuilder.postTimeAndStartCommentsAndTimer(
+                        postTimeStartCommentsTimer.get());
+            }
 
-                List<Starter> starters = new ArrayList<>();
-                for (List<ChartCharacter> runningLine : runningLines) {
-                    Map<String, List<ChartCharacter>> runningLineCharactersByColumn =
-                            RunningLine.groupRunningLineCharactersByColumn(
-                                    runningLineColumnIndices, runningLine);
+            List<List<ChartCharacter>> runningLines = getRunningLines(page);
+            List<ChartCharacter> headerCharacters = runningLines.get(0);
+            RunningLineColumns runningLineColumns =
+                    runningLineLayoutCache.getColumns(headerCharacters);
 
-                    // Running Line for each Starter
-                    Starter starter = Starter.parseRunningLineData(
-                            runningLineCharactersByColumn, trackRaceDateRaceNumber.getRaceDate(),
-                            raceTypeNameBlackTypeBreed.getBreed(), raceDistance,
-                            trackService, pointsOfCallService);
+            // remove running line header
+            runningLines = runningLines.subList(1, runningLines.size());
 
-                    starters.add(starter);
-                }
+            runningLines = SplitTimes.removeSplitTimesIfPresent(runningLines);
 
-                // Winner(s)
-                List<Winner> winners = new ArrayList<>();
-                try {
-                    winners = Winner.parse(lines);
-                } catch (NoWinnersDeclaredException e) {
-                    LOGGER.warn(fileRaceLogMessage(e.getMessage(), pdfChartFile, index,
-                            raceResultBuilder));
-                }
+            RaceDistance raceDistance = distanceSurfaceTrackRecord.getRaceDistance();
 
-                for (Winner winner : winners) {
-                    for (Starter starter : starters) {
-                        if (winner.getHorseName().equals(starter.getHorse().getName())) {
-                            starter.updateWinner(winner);
-                        }
-                    }
+            // Race Fractions
+            ArrayList<String> fractions = FractionalTimes.parse(runningLines);
+            List<FractionalPoint.Fractional> fractionalPointsForDistance =
+                    fractionalService.getFractionalPointsForDistance(fractions,
+                            raceDistance.getValue(), raceTypeNameBlackTypeBreed.getBreed());
+            raceResultBuilder.fractionals(fractionalPointsForDistance);
+
+            // Run-Up
+            raceResultBuilder.runUp(RunUp.parse(runningLines));
+
+            // Running Line for each Starter
+            List<Starter> starters = parseStarters(runningLines, runningLineColumns,
+                    trackRaceDateRaceNumber.getRaceDate(), raceTypeNameBlackTypeBreed.getBreed(),
+                    raceDistance);
+
+            // Winner(s)
+            List<Winner> winners = new ArrayList<>();
+            try {
+                winners = Winner.parse(page);
+            } catch (NoWinnersDeclaredException e) {
+                LOGGER.warn(fileRaceLogMessage(e.getMessage(), chartSource, index,
+                        raceResultBuilder));
+            }
+
+            // used to join the other sections of the chart to the starters they refer to
+            StarterIndex starterIndex = new StarterIndex(starters);
+
+            for (Winner winner : winners) {
+                for (Starter starter : starterIndex.findAllByHorseName(winner.getHorseName())) {
+                    starter.updateWinner(winner);
                 }
+            }
 
-                // used to combine claim-related information
-                Map<Starter, ClaimedHorse> starterClaimedHorseMap = new LinkedHashMap<>();
-
-                // the horses that were claimed
-                List<ClaimedHorse> claimedHorses = ClaimedHorse.parse(lines);
-                if (!claimedHorses.isEmpty()) {
-                    for (ClaimedHorse claimedHorse : claimedHorses) {
-                        for (Starter starter : starters) {
-                            if (claimedHorse.getHorse().equals(starter.getHorse().getName())) {
-                                // save for later
-                                starterClaimedHorseMap.put(starter, claimedHorse);
-                                break;
-                            }
-                        }
-                    }
+            // used to combine claim-related information (by identity, as Starter#equals is deep)
+            Map<Starter, ClaimedHorse> starterClaimedHorseMap = new IdentityHashMap<>();
+
+            // the horses that were claimed
+            List<ClaimedHorse> claimedHorses = ClaimedHorse.parse(page);
+            for (ClaimedHorse claimedHorse : claimedHorses) {
+                Starter starter = starterIndex.findFirstByHorse(claimedHorse.getHorse());
+                if (starter != null) {
+                    // save for later
+                    starterClaimedHorseMap.put(starter, claimedHorse);
                 }
+            }
 
-                // the registered claiming prices for each starter (if applicable)
-                List<ClaimingPrice> claimingPrices = ClaimingPrice.parse(lines);
-                if (!claimingPrices.isEmpty()) {
-                    for (ClaimingPrice claimingPrice : claimingPrices) {
-                        for (Starter starter : starters) {
-                            if (matchesStarter(claimingPrice, starter)) {
-                                // combine the claim-related information
-                                ClaimedHorse claimedHorse = null;
-                                if (starterClaimedHorseMap.containsKey(starter)) {
-                                    claimedHorse = starterClaimedHorseMap.get(starter);
-                                }
-                                Claim claim = new Claim(claimingPrice, claimedHorse);
-                                starter.setClaim(claim);
-                                break;
-                            }
-                        }
-                    }
+            // the registered claiming prices for each starter (if applicable)
+            List<ClaimingPrice> claimingPrices = ClaimingPrice.parse(page);
+            for (ClaimingPrice claimingPrice : claimingPrices) {
+                // by program number, falling back to horse name
+                Starter starter = starterIndex.findFirst(claimingPrice.getProgram(),
+                        claimingPrice.getHorse());
+                if (starter != null) {
+                    // combine the claim-related information
+                    ClaimedHorse claimedHorse = starterClaimedHorseMap.get(starter);
+                    Claim claim = new Claim(claimingPrice, claimedHorse);
+                    starter.setClaim(claim);
                 }
+            }
 
-                // the trainer of each starter
-                List<Trainer> trainers = Trainer.parse(lines);
-                if (!trainers.isEmpty()) {
-                    for (int i = 0; i < trainers.size(); i++) {
-                        Trainer trainer = trainers.get(i);
-                        if (trainer.getProgram() != null) {
-                            for (Starter starter : starters) {
-                                if (trainer.getProgram().equals(
-                                        starter.getProgram())) {
-                                    starter.setTrainer(trainer);
-                                    break;
-                                }
-                            }
-                        } else {
-                            // no program number, so assign based on index position
-                            Starter starter = starters.get(i);
+            // the trainer of each starter
+            List<Trainer> trainers = Trainer.parse(page);
+            if (!trainers.isEmpty()) {
+                for (int i = 0; i < trainers.size(); i++) {
+                    Trainer trainer = trainers.get(i);
+                    if (trainer.getProgram() != null) {
+                        Starter starter = starterIndex.findFirstByProgram(trainer.getProgram());
+                        if (starter != null) {
                             starter.setTrainer(trainer);
-                            break;
                         }
+                    } else {
+                        // no program number, so assign based on index position
+                        Starter starter = starters.get(i);
+                        starter.setTrainer(trainer);
+                        break;
                     }
                 }
+            }
 
-                // the owner of each starter
-                List<Owner> owners = Owner.parse(lines);
-                if (!owners.isEmpty()) {
-                    for (int i = 0; i < owners.size(); i++) {
-                        Owner owner = owners.get(i);
-                        if (owner.getProgram() != null) {
-                            for (Starter starter : starters) {
-                                if (owner.getProgram().equals(starter.getProgram())) {
-                                    starter.setOwner(owner);
-                                    break;
-                                }
-                            }
-                        } else {
-                            // no program number, so assign based on index position
-                            Starter starter = starters.get(i);
+            // the owner of each starter
+            List<Owner> owners = Owner.parse(page);
+            if (!owners.isEmpty()) {
+                for (int i = 0; i < owners.size(); i++) {
+                    Owner owner = owners.get(i);
+                    if (owner.getProgram() != null) {
+                        Starter starter = starterIndex.findFirstByProgram(owner.getProgram());
+                        if (starter != null) {
                             starter.setOwner(owner);
-                            break;
                         }
+                    } else {
+                        // no program number, so assign based on index position
+                        Starter starter = starters.get(i);
+                        starter.setOwner(owner);
+                        break;
                     }
                 }
+            }
 
-                // horses scratched from the race
-                List<Scratch> scratches = Scratch.parse(lines);
-                raceResultBuilder.scratches(scratches);
-
-                // whether the race resulted in a dead heat
-                boolean isDeadHeat = DeadHeat.parse(lines);
-                raceResultBuilder.deadHeat(isDeadHeat);
-
-                // update result if affected by disqualifications
-                List<Disqualification> disqualifications = Disqualification.parse(lines);
-                for (Disqualification disqualification : disqualifications) {
-                    for (Starter starter : starters) {
-                        if (matchesStarter(disqualification, starter)) {
-                            starter.updateDisqualification(disqualification);
-                            continue;
-                        }
+            // horses scratched from the race
+            List<Scratch> scratches = Scratch.parse(page);
+            raceResultBuilder.scratches(scratches);
+
+            // whether the race resulted in a dead heat
+            boolean isDeadHeat = DeadHeat.parse(page);
+            raceResultBuilder.deadHeat(isDeadHeat);
+
+            // update result if affected by disqualifications
+            List<Disqualification> disqualifications = Disqualification.parse(page);
+            for (Disqualification disqualification : disqualifications) {
+                // by program number, falling back to horse name
+                Set<Starter> disqualified = Collections.newSetFromMap(new IdentityHashMap<>());
+                disqualified.addAll(starterIndex.findAll(disqualification.getProgram(),
+                        disqualification.getHorse()));
+                for (Starter starter : starters) {
+                    if (disqualified.contains(starter)) {
+                        starter.updateDisqualification(disqualification);
+                        continue;
+                    }
 
-                        if (starter.getOfficialPosition() == null) {
-                            starter.setOfficialPosition(starter.getFinishPosition());
-                        }
+                    if (starter.getOfficialPosition() == null) {
+                        starter.setOfficialPosition(starter.getFinishPosition());
+                    }
 
-                        // adjust official positions of starters affected by disqualifications
-                        if (officialPositionAffectedByDisqualification(disqualification, starter)) {
-                            starter.setOfficialPosition(starter.getOfficialPosition() - 1);
-                        }
+                    // adjust official positions of starters affected by disqualifications
+                    if (officialPositionAffectedByDisqualification(disqualification, starter)) {
+                        starter.setOfficialPosition(starter.getOfficialPosition() - 1);
                     }
                 }
+            }
 
-                // parse the wagering pools and payoffs (WPS and exotics)
-                WagerPayoffPools wagerPayoffPools = WagerPayoffPools.parse(lines);
-                raceResultBuilder.wagerPoolsAndPayoffs(wagerPayoffPools);
+            // parse the wagering pools and payoffs (WPS and exotics)
+            WagerPayoffPools wagerPayoffPools = WagerPayoffPools.parse(page);
+            raceResultBuilder.wagerPoolsAndPayoffs(wagerPayoffPools);
 
-                // update each starter with the total lengths behind at each point of call (if
-                // applicable)
-                starters = PastPerformanceRunningLinePreview.parse(lines, starters);
-                raceResultBuilder.starters(starters);
+            // update each starter with the total lengths behind at each point of call (if
+            // applicable)
+            starters = PastPerformanceRunningLinePreview.parse(page, starterIndex);
+            raceResultBuilder.starters(starters);
 
-                // Footnotes
-                String footnotes = Footnotes.parse(lines);
-                raceResultBuilder.footnotes(footnotes);
+            // Footnotes
+            String footnotes = Footnotes.parse(page);
+            raceResultBuilder.footnotes(footnotes);
 
-                RaceResult raceResult = raceResultBuilder.build();
-                raceResults.add(raceResult);
-            } catch (InvalidRaceException | NoLinesToParse e) {
-                LOGGER.error(fileLogMessage(e.getMessage(), pdfChartFile, index));
-                continue;
-            } catch (ChartParserException e) {
-                LOGGER.error(fileRaceLogMessage(e.getMessage(), pdfChartFile, index,
-                        raceResultBuilder));
-                continue;
+            RaceResult raceResult = raceResultBuilder.build();
+            return Optional.of(raceResult);
+        } catch (InvalidRaceException | NoLinesToParse e) {
+            LOGGER.error(fileLogMessage(e.getMessage(), chartSource, index));
+            return Optional.empty();
+        } catch (ChartParserException e) {
+            LOGGER.error(fileRaceLogMessage(e.getMessage(), chartSource, index,
+                    raceResultBuilder));
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Extracts the next chart from the document (combining charts that are spread over two pages)
+     * only when the next {@link RaceResult} is requested
+     */
+    private class RaceResultIterator implements Iterator<RaceResult> {
+        private final PageSource pages;
+        private final int pageCount;
+        private final ChartSource chartSource;
+        private int pageNumber = 1;
+        private int index = 0;
+        private RaceResult next;
+
+        RaceResultIterator(PageSource pages, int pageCount, ChartSource chartSource) {
+            this.pages = pages;
+            this.pageCount = pageCount;
+            this.chartSource = chartSource;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && pageNumber <= pageCount) {
+                ChartPage chart = nextChart();
+                if (chart != null) {
+                    next = parse(chart, chartSource, index++).orElse(null);
+                }
             }
+            return (next != null);
         }
 
-        return raceResults;
+        @Override
+        public RaceResult next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RaceResult raceResult = next;
+            next = null;
+            return raceResult;
+        }
+
+        // the next chart or null if there are no (complete) charts remaining
+        private ChartPage nextChart() {
+            ChartPage previousChart = null;
+            try {
+                while (pageNumber <= pageCount) {
+                    ChartPage page = pages.getPage(pageNumber++);
+                    if (endsWithCopyright(page)) {
+                        if (previousChart != null) {
+                            return combine(previousChart, page);
+                        }
+                        return page;
+                    }
+                    previousChart = page;
+                }
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+                pageNumber = pageCount + 1;
+            }
+            return null;
+        }
     }
 
-    private String fileLogMessage(String message, File pdfChartFile, int index) {
-        return String.format("File: %s, page: %d - %s", pdfChartFile.getName(), (index + 1),
+    /**
+     * Provides the {@link ChartPage}s (separated into lines) of a PDF, by page number (from 1)
+     */
+    @FunctionalInterface
+    interface PageSource {
+        ChartPage getPage(int pageNumber) throws IOException;
+    }
+
+    private String fileLogMessage(String message, ChartSource chartSource, int index) {
+        return String.format("File: %s, page: %d - %s", chartSource.getLabel(), (index + 1),
                 message);
     }
 
     // logs with the race details (track, date, race number, and breed)
-    private String fileRaceLogMessage(String message, File pdfChartFile, int index,
+    private String fileRaceLogMessage(String message, ChartSource chartSource, int index,
             RaceResult.Builder raceResultBuilder) {
-        return String.format("File: %s, page: %d, race: %s - %s", pdfChartFile.getName(),
+        return String.format("File: %s, page: %d, race: %s - %s", chartSource.getLabel(),
                 (index + 1), raceResultBuilder.summaryText(), message);
     }
 
+    /**
+     * Parses the running line of each starter, in parallel using the starter executor (if any).
+     * Each row is independent once the column layout is known: each task groups its row with its
+     * own {@link RunningLineColumns.Grouping}, and gets its own copy of the points of call from the
+     * {@link PointsOfCallService}. The starters are returned in running line order and, as when
+     * parsed sequentially, the exception of the first running line that cannot be parsed is thrown
+     */
+    List<Starter> parseStarters(List<List<ChartCharacter>> runningLines,
+            RunningLineColumns runningLineColumns, LocalDate raceDate, Breed breed,
+            RaceDistance raceDistance) throws ChartParserException {
+        List<Starter> starters = new ArrayList<>(runningLines.size());
+        if (starterExecutor == null || runningLines.size() < 2) {
+            RunningLineColumns.Grouping grouping = runningLineColumns.newGrouping();
+            for (List<ChartCharacter> runningLine : runningLines) {
+                starters.add(Starter.parseRunningLineData(grouping.groupRow(runningLine),
+                        raceDate, breed, raceDistance, trackService, pointsOfCallService));
+            }
+            return starters;
+        }
+
+        List<Future<Starter>> parsedStarters = new ArrayList<>(runningLines.size());
+        for (List<ChartCharacter> runningLine : runningLines) {
+            parsedStarters.add(starterExecutor.submit(() -> Starter.parseRunningLineData(
+                    runningLineColumns.newGrouping().groupRow(runningLine), raceDate, breed,
+                    raceDistance, trackService, pointsOfCallService)));
+        }
+
+        try {
+            for (Future<Starter> parsedStarter : parsedStarters) {
+                starters.add(parsedStarter.get());
+            }
+            return starters;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChartParserException("Interrupted while parsing starters", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ChartParserException) {
+                throw (ChartParserException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ChartParserException(cause.getMessage(), cause);
+        } finally {
+            // the remaining starters are not needed if one could not be parsed
+            for (Future<Starter> parsedStarter : parsedStarters) {
+                parsedStarter.cancel(true);
+            }
+        }
+    }
+
     private boolean officialPositionAffectedByDisqualification(Disqualification disqualification,
             Starter starter) {
         if (starter.getOfficialPosition() != null) {
@@ -433,79 +741,435 @@ public class ChartParser {
         return false;
     }
 
-    // by program number, falling back to horse name
-    private boolean matchesStarter(Disqualification disqualification, Starter starter) {
-        return (disqualification.getProgram() != null &&
-                disqualification.getProgram().equals(starter.getProgram())) ||
-                (disqualification.getHorse() != null &&
-                        disqualification.getHorse().equals(
-                                starter.getHorse().getName()));
+    /**
+     * Uses {@link ChartCharacterStreamEngine} (a text-only Apache PDFBox {@link PDFStreamEngine})
+     * to extract each character from the PDF with its location etc. The result is the same as that
+     * of {@link ChartCharacterStripper}, without the cost of its text assembly
+     */
+    static ChartPage createChartPage(PDDocument raceChart) throws IOException {
+        return new ChartCharacterStreamEngine().stripChartPage(raceChart);
+    }
+
+    /**
+     * As {@link #createChartPage(PDDocument)}, but for a single page (numbered from 1)
+     */
+    static ChartPage createChartPage(PDDocument raceCharts, int pageNumber) throws IOException {
+        return new ChartCharacterStreamEngine().stripChartPage(raceCharts, pageNumber);
     }
 
-    // by program number, falling back to horse name
-    private boolean matchesStarter(ClaimingPrice claimingPrice, Starter starter) {
-        return (claimingPrice.getProgram() != null &&
-                claimingPrice.getProgram().equals(starter.getProgram())) ||
-                (claimingPrice.getHorse() != null &&
-                        claimingPrice.getHorse().equals(
-                                starter.getHorse().getName()));
+    /**
+     * Loads the file into PDFBox's PDDocument and extracts the characters of each page/chart
+     * directly into a {@link ChartPage} (separated into lines), combining charts that are spread
+     * over two pages. Unlike {@link #convertToCsv(File)}, no CSV text is produced
+     */
+    static List<ChartPage> extractChartPages(File pdfChartFile) {
+        return extractChartPages(pdfChartFile, null);
     }
 
     /**
-     * Uses {@link ChartStripper} (an extension of Apache PDFBox's {@link PDFTextStripper}) to
-     * extract the text from the PDF and, adding a header row, write a CSV String with each row
-     * being a character from the PDF with its location etc.
+     * As {@link #extractChartPages(File)}, but with the pages extracted in parallel using the
+     * executor (if not null)
      */
-    static String createCsvChart(PDDocument raceChart) throws IOException {
-        ChartStripper chartStripper = new ChartStripper(new StringWriter());
-        try (StringWriter writer = chartStripper.getWriter()) {
-            try (StringWriter throwawayWriter = new StringWriter()) {
-                writer.write("xDirAdj|yDirAdj|fontSize|xScale|height|widthOfSpace|widthDirAdj|" +
-                        "unicode");
-                chartStripper.writeText(raceChart, throwawayWriter);
+    static List<ChartPage> extractChartPages(File pdfChartFile, ExecutorService executor) {
+        return extractChartPages(pdfChartFile, executor, null);
+    }
+
+    /**
+     * As {@link #extractChartPages(File, ExecutorService)}, but reading the pages from the cache
+     * (if not null) when the PDF has been extracted before, and otherwise caching the pages once
+     * they have all been extracted
+     */
+    static List<ChartPage> extractChartPages(File pdfChartFile, ExecutorService executor,
+            ChartPageCache cache) {
+        return extractChartPages(ChartSource.of(pdfChartFile), ChartLoader.DEFAULT, executor,
+                cache);
+    }
+
+    /**
+     * As {@link #extractChartPages(File, ExecutorService, ChartPageCache)}, but for a PDF from any
+     * {@link ChartSource}, loaded with the {@link ChartLoader}
+     */
+    static List<ChartPage> extractChartPages(ChartSource chartSource, ChartLoader loader,
+            ExecutorService executor, ChartPageCache cache) {
+        return combineContinuedCharts(
+                extractEachChartPage(chartSource, loader, executor, cache).getPages());
+    }
+
+    /**
+     * As {@link #extractChartPages(ChartSource, ChartLoader, ExecutorService, ChartPageCache)},
+     * but with each page separately (charts spread over two pages are not combined) and whether
+     * every page of the PDF was extracted. Pages read from the cache are always complete
+     */
+    static ExtractedPages<ChartPage> extractEachChartPage(ChartSource chartSource,
+            ChartLoader loader, ExecutorService executor, ChartPageCache cache) {
+        String key = null;
+        if (cache != null) {
+            try {
+                key = ChartPageCache.createKey(chartSource);
+                Optional<CachedChartPages> cachedChartPages = cache.get(key);
+                if (cachedChartPages.isPresent()) {
+                    List<ChartPage> pages = getPages(cachedChartPages.get());
+                    return new ExtractedPages<>(pages, pages.size(), true);
+                }
+            } catch (IOException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+
+        ExtractedPages<ChartPage> extractedPages = extractPages(chartSource, loader,
+                (raceCharts, pageNumber) ->
+                        separateIntoLines(createChartPage(raceCharts, pageNumber)),
+                executor);
+
+        // only cache a complete set of pages
+        if (key != null && extractedPages.isComplete() && !extractedPages.getPages().isEmpty()) {
+            try {
+                cache.put(key, extractedPages.getPages());
+            } catch (IOException e) {
+                LOGGER.warn(String.format("Unable to cache the pages of %s",
+                        chartSource.getLabel()), e);
             }
-            return writer.getBuffer().toString();
         }
+        return extractedPages;
+    }
+
+    private static Optional<CachedChartPages> getCachedChartPages(ChartSource chartSource,
+            ChartPageCache cache) {
+        try {
+            return cache.get(ChartPageCache.createKey(chartSource));
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    private static List<ChartPage> getPages(CachedChartPages cachedChartPages) {
+        List<ChartPage> pages = new ArrayList<>();
+        for (int pageNumber = 1; pageNumber <= cachedChartPages.getPageCount(); pageNumber++) {
+            pages.add(cachedChartPages.getPage(pageNumber));
+        }
+        return pages;
+    }
+
+    // some charts are spread over two pages; detect and combine them
+    private static List<ChartPage> combineContinuedCharts(List<ChartPage> pages) {
+        List<ChartPage> charts = new ArrayList<>();
+        ChartPage previousChart = null;
+        for (ChartPage page : pages) {
+            if (endsWithCopyright(page)) {
+                if (previousChart != null) {
+                    charts.add(combine(previousChart, page));
+                    previousChart = null;
+                } else {
+                    charts.add(page);
+                }
+            } else {
+                previousChart = page;
+            }
+        }
+        return charts;
     }
 
     /**
-     * Loads the file into PDFBox's PDDocument, splits it into pages, and converts to CSV strings
+     * Loads the file into PDFBox's PDDocument and applies the extractor to each page, returning
+     * the results in page order. Extraction stops at the first page that fails: if it could not be
+     * read, the error is logged and the pages before it are returned, and any other exception is
+     * rethrown.
+     * <p>
+     * The pages are extracted from the loaded document itself (rather than from documents created
+     * by {@link Splitter}) so fonts and other resources are only decoded once. When an executor is
+     * provided, PDFBox documents are not safe to use from more than one thread, so each worker
+     * loads its own copy of the document and takes the next unextracted page until none remain;
+     * the calling thread extracts pages from the first copy loaded alongside them
      */
-    static List<String> convertToCsv(File pdfChartFile) throws ChartParserException {
-        List<String> csvCharts = new ArrayList<>();
-        try (PDDocument charts = PDDocument.load(pdfChartFile)) {
-            Splitter splitter = new Splitter();
-            List<PDDocument> raceCharts = splitter.split(charts);
-            for (int i = 0; i < raceCharts.size(); i++) {
-                try (PDDocument raceChart = raceCharts.get(i)) {
-                    String csvChart = createCsvChart(raceChart);
-                    csvCharts.add(csvChart);
-                }
+    static <T> List<T> extractEachPage(File pdfChartFile, PageExtractor<T> extractor,
+            ExecutorService executor) {
+        return extractEachPage(ChartSource.of(pdfChartFile), ChartLoader.DEFAULT, extractor,
+                executor);
+    }
+
+    /**
+     * As {@link #extractEachPage(File, PageExtractor, ExecutorService)}, but for a PDF from any
+     * {@link ChartSource}, loaded with the {@link ChartLoader}. When an executor is provided, the
+     * loader's memory allowance is divided between the documents of the calling thread and workers
+     */
+    static <T> List<T> extractEachPage(ChartSource chartSource, ChartLoader loader,
+            PageExtractor<T> extractor, ExecutorService executor) {
+        return extractPages(chartSource, loader, extractor, executor).getPages();
+    }
+
+    static <T> List<T> extractEachPage(ChartSource chartSource, ChartLoader loader,
+            PageExtractor<T> extractor, ExecutorService executor, int parallelism) {
+        return extractPages(chartSource, loader, extractor, executor, parallelism).getPages();
+    }
+
+    /**
+     * As {@link #extractEachPage(ChartSource, ChartLoader, PageExtractor, ExecutorService)}, but
+     * also reporting whether every page of the PDF was extracted
+     */
+    static <T> ExtractedPages<T> extractPages(ChartSource chartSource, ChartLoader loader,
+            PageExtractor<T> extractor, ExecutorService executor) {
+        if (executor != null) {
+            return extractPages(chartSource, loader, extractor, executor, PARALLELISM);
+        }
+
+        List<T> pages = new ArrayList<>();
+        int pageCount = ExtractedPages.UNKNOWN_PAGE_COUNT;
+        try (PDDocument raceCharts = loader.load(chartSource)) {
+            pageCount = raceCharts.getNumberOfPages();
+            for (int pageNumber = 1; pageNumber <= pageCount; pageNumber++) {
+                pages.add(extractor.extract(raceCharts, pageNumber));
             }
         } catch (IOException e) {
             LOGGER.error(e.getMessage(), e);
+            return new ExtractedPages<>(pages, pageCount, false);
+        }
+        return new ExtractedPages<>(pages, pageCount, true);
+    }
+
+    static <T> ExtractedPages<T> extractPages(ChartSource chartSource, ChartLoader loader,
+            PageExtractor<T> extractor, ExecutorService executor, int parallelism) {
+        // the calling thread's document is one of those the memory allowance is divided between
+        ChartLoader workerLoader = loader.partitioned(Math.max(parallelism, 1));
+        PDDocument raceCharts;
+        try {
+            raceCharts = workerLoader.load(chartSource);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return new ExtractedPages<>(new ArrayList<>(), ExtractedPages.UNKNOWN_PAGE_COUNT,
+                    false);
         }
 
+        int pageCount = raceCharts.getNumberOfPages();
+        // cancelled workers may still be extracting a page after the others have been waited for
+        AtomicReferenceArray<T> extracted = new AtomicReferenceArray<>(pageCount);
+        AtomicInteger nextPageNumber = new AtomicInteger(1);
+        List<Future<Void>> workers = new ArrayList<>();
+        boolean finished;
+        try (PDDocument callerRaceCharts = raceCharts) {
+            for (int i = 1; i < Math.min(parallelism, pageCount); i++) {
+                workers.add(executor.submit(() -> {
+                    // a worker queued behind the others may find there is nothing left to do
+                    if (nextPageNumber.get() > pageCount) {
+                        return null;
+                    }
+                    try (PDDocument workerRaceCharts = workerLoader.load(chartSource)) {
+                        extractRemainingPages(workerRaceCharts, extractor, extracted,
+                                nextPageNumber);
+                    } catch (IOException | RuntimeException | Error e) {
+                        // stop the other workers too
+                        nextPageNumber.set(pageCount + 1);
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+
+            // the calling thread extracts pages from the document it loaded, alongside the workers
+            try {
+                extractRemainingPages(callerRaceCharts, extractor, extracted, nextPageNumber);
+                finished = waitFor(workers);
+            } catch (IOException e) {
+                nextPageNumber.set(pageCount + 1);
+                cancel(workers);
+                LOGGER.error(e.getMessage(), e);
+                finished = false;
+            } catch (RuntimeException | Error e) {
+                nextPageNumber.set(pageCount + 1);
+                cancel(workers);
+                throw e;
+            }
+        } catch (IOException e) {
+            // the document could not be closed
+            LOGGER.error(e.getMessage(), e);
+            finished = false;
+        }
+
+        // the pages up to (but not including) the first that was not extracted
+        List<T> pages = new ArrayList<>();
+        for (int i = 0; i < extracted.length() && extracted.get(i) != null; i++) {
+            pages.add(extracted.get(i));
+        }
+        return new ExtractedPages<>(pages, pageCount, finished);
+    }
+
+    // extracts the next unextracted page of the document until none remain
+    private static <T> void extractRemainingPages(PDDocument raceCharts,
+            PageExtractor<T> extractor, AtomicReferenceArray<T> extracted,
+            AtomicInteger nextPageNumber) throws IOException {
+        int pageNumber;
+        while ((pageNumber = nextPageNumber.getAndIncrement()) <= extracted.length()) {
+            extracted.set(pageNumber - 1, extractor.extract(raceCharts, pageNumber));
+        }
+    }
+
+    // waits for all the workers to finish, cancelling the others when one fails; a page that
+    // could not be read is logged (so the pages before it are returned), anything else is rethrown.
+    // Returns whether every worker finished
+    private static boolean waitFor(List<Future<Void>> workers) {
+        for (Future<Void> worker : workers) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted while extracting pages", e);
+                cancel(workers);
+                return false;
+            } catch (ExecutionException e) {
+                cancel(workers);
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                LOGGER.error(cause.getMessage(), cause);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void cancel(List<Future<Void>> workers) {
+        for (Future<Void> worker : workers) {
+            worker.cancel(true);
+        }
+    }
+
+    /**
+     * The pages extracted from a PDF, in page order, with the number of pages the PDF has and
+     * whether the extraction finished without error
+     */
+    static class ExtractedPages<T> {
+        static final int UNKNOWN_PAGE_COUNT = -1;
+
+        private final List<T> pages;
+        private final int pageCount;
+        private final boolean finished;
+
+        ExtractedPages(List<T> pages, int pageCount, boolean finished) {
+            this.pages = pages;
+            this.pageCount = pageCount;
+            this.finished = finished;
+        }
+
+        List<T> getPages() {
+            return pages;
+        }
+
+        int getPageCount() {
+            return pageCount;
+        }
+
+        boolean isFinished() {
+            return finished;
+        }
+
+        /**
+         * Whether the extraction finished and every page of the PDF was extracted
+         */
+        boolean isComplete() {
+            return finished && pages.size() == pageCount;
+        }
+    }
+
+    /**
+     * Extracts something (CSV text, {@link ChartPage}s etc.) from a single page (numbered from 1)
+     * of a PDF chart
+     */
+    @FunctionalInterface
+    interface PageExtractor<T> {
+        T extract(PDDocument raceCharts, int pageNumber) throws IOException;
+    }
+
+    /**
+     * Appends the lines of the continuation page to the lines of the chart it continues, giving
+     * the same lines as separating the characters of both pages together would
+     */
+    static ChartPage combine(ChartPage chart, ChartPage continuation) {
+        chart.addLines(continuation,
+                (continuation.size() > 0 && !startsLine(continuation, 0)));
+        return chart;
+    }
+
+    // if Copyright notice is not the last line, the text continued to the next page
+    private static boolean endsWithCopyright(ChartPage page) {
+        String text = page.getLineText(page.getLineCount() - 1);
+        Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
+        return matcher.find();
+    }
+
+    /**
+     * Uses {@link ChartStripper} (an extension of Apache PDFBox's {@link PDFTextStripper}) to
+     * extract the text from the PDF and, adding a header row, write a CSV String with each row
+     * being a character from the PDF with its location etc. Used as a debug dump of what was
+     * extracted; parsing uses {@link #createChartPage(PDDocument)} instead
+     */
+    static String createCsvChart(PDDocument raceChart) throws IOException {
+        return createCsvChart(new ChartStripper(new StringWriter()), raceChart).toString();
+    }
+
+    /**
+     * As {@link #createCsvChart(PDDocument)}, but for a single page (numbered from 1)
+     */
+    static String createCsvChart(PDDocument raceCharts, int pageNumber) throws IOException {
+        return createCsvChartPage(raceCharts, pageNumber).toString();
+    }
+
+    /**
+     * Creates both the CSV rows and the {@link ChartPage} (separated into lines) of a single page
+     * (numbered from 1) in the one pass
+     */
+    static CsvChart createCsvChartPage(PDDocument raceCharts, int pageNumber) throws IOException {
+        ChartStripper chartStripper = new ChartStripper(new StringWriter());
+        chartStripper.setStartPage(pageNumber);
+        chartStripper.setEndPage(pageNumber);
+        return createCsvChart(chartStripper, raceCharts);
+    }
+
+    private static CsvChart createCsvChart(ChartStripper chartStripper, PDDocument raceChart)
+            throws IOException {
+        ChartPage page = separateIntoLines(chartStripper.stripChartPage(raceChart));
+        return new CsvChart(chartStripper.getWriter().getBuffer(), page);
+    }
+
+    /**
+     * Loads the file into PDFBox's PDDocument and converts each page to a CSV string
+     */
+    static List<String> convertToCsv(File pdfChartFile) throws ChartParserException {
+        return convertToCsv(pdfChartFile, null);
+    }
+
+    /**
+     * As {@link #convertToCsv(File)}, but with the pages converted in parallel using the executor
+     * (if not null). Each page gets its own {@link ChartStripper}
+     */
+    static List<String> convertToCsv(File pdfChartFile, ExecutorService executor)
+            throws ChartParserException {
+        return convertToCsv(ChartSource.of(pdfChartFile), ChartLoader.DEFAULT, executor);
+    }
+
+    /**
+     * As {@link #convertToCsv(File, ExecutorService)}, but for a PDF from any {@link ChartSource},
+     * loaded with the {@link ChartLoader} e.g. to bound the memory used by very large PDFs
+     */
+    static List<String> convertToCsv(ChartSource chartSource, ChartLoader loader,
+            ExecutorService executor) throws ChartParserException {
+        List<CsvChart> csvCharts = extractEachPage(chartSource, loader,
+                ChartParser::createCsvChartPage, executor);
+
         // some charts are spread over two pages; detect and combine them
         List<String> prunedCsvCharts = new ArrayList<>();
-        String previousChart = null;
-        for (int i = 0; i < csvCharts.size(); i++) {
-            String csvChart = csvCharts.get(i);
-            List<ChartCharacter> chartCharacters = convertToChartCharacters(csvChart);
-            List<List<ChartCharacter>> lines = separateIntoLines(chartCharacters);
-
-            // if Copyright notice is not the last line, the text continued to the next page
-            List<ChartCharacter> lastLine = lines.get(lines.size() - 1);
-            String text = Chart.convertToText(lastLine);
-            Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
-            if (matcher.find()) {
+        CsvChart previousChart = null;
+        for (CsvChart csvChart : csvCharts) {
+            if (endsWithCopyright(csvChart.page)) {
                 if (previousChart != null) {
-                    csvChart = csvChart.substring(csvChart.indexOf(System.lineSeparator()));
-                    previousChart = previousChart.concat(csvChart);
-                    prunedCsvCharts.add(previousChart);
+                    previousChart.rows.append(csvChart.rows);
+                    prunedCsvCharts.add(previousChart.toString());
                     previousChart = null;
                 } else {
-                    prunedCsvCharts.add(csvChart);
+                    prunedCsvCharts.add(csvChart.toString());
                 }
             } else {
                 previousChart = csvChart;
@@ -514,50 +1178,87 @@ public class ChartParser {
         return prunedCsvCharts;
     }
 
+    /**
+     * The CSV rows of a page alongside its characters, so the lines do not need to be read back
+     * from the CSV to check whether the chart continues on the next page
+     */
+    static class CsvChart {
+        private static final String HEADER =
+                "xDirAdj|yDirAdj|fontSize|xScale|height|widthOfSpace|widthDirAdj|unicode";
+
+        private final StringBuffer rows;
+        private final ChartPage page;
+
+        CsvChart(StringBuffer rows, ChartPage page) {
+            this.rows = rows;
+            this.page = page;
+        }
+
+        @Override
+        public String toString() {
+            return HEADER + rows;
+        }
+    }
+
     static List<ChartCharacter> convertToChartCharacters(String chart) throws ChartParserException {
         return readChartCsv(chart);
     }
 
     static List<List<ChartCharacter>> separateIntoLines(List<ChartCharacter> data) {
-        List<List<ChartCharacter>> lines = new ArrayList<>();
-        List<ChartCharacter> line = new ArrayList<>();
-        boolean firstTime = true;
-        for (ChartCharacter d : data) {
-            if (firstTime) {
-                line.add(d);
-                firstTime = false;
-            } else {
-                // start of line or "Past Performance Running Line Preview"
-                if (d.getxDirAdj() == 9.92 ||
-                        (d.getxDirAdj() == 209.385 && d.getUnicode() == 'P')) {
-                    lines.add(line);
-                    line = new ArrayList<>();
-                }
+        return separateIntoLines(ChartPage.fromChartCharacters(data)).getLines();
+    }
 
-                line.add(d);
+    /**
+     * Sets the index of the first character of each line of the page, returning the same page
+     */
+    static ChartPage separateIntoLines(ChartPage page) {
+        int[] lineStarts = new int[64];
+        int lineCount = 1;
+        for (int i = 1; i < page.size(); i++) {
+            if (startsLine(page, i)) {
+                if (lineCount == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+                }
+                lineStarts[lineCount++] = i;
             }
         }
-        lines.add(line);
-        return lines;
+        page.setLineStarts(lineStarts, lineCount);
+        return page;
+    }
+
+    // start of line or "Past Performance Running Line Preview"
+    private static boolean startsLine(ChartPage page, int index) {
+        double xDirAdj = page.getxDirAdj(index);
+        return (xDirAdj == 9.92 || (xDirAdj == 209.385 && page.getUnicode(index) == 'P'));
     }
 
     /**
      * Extracts the running line rows/characters
      */
     static List<List<ChartCharacter>> getRunningLines(List<List<ChartCharacter>> lines) {
+        return getRunningLines(ChartPage.fromLines(lines));
+    }
+
+    /**
+     * Extracts the running line rows/characters; only these lines are created as {@link
+     * ChartCharacter}s
+     */
+    static List<List<ChartCharacter>> getRunningLines(ChartPage page) {
         List<List<ChartCharacter>> runningLines = new ArrayList<>();
         boolean runningLineSectionsAreActive = false;
-        for (List<ChartCharacter> line : lines) {
-            String text = convertToText(line);
+        int start = page.findSectionLine(Section.RUNNING_LINES,
+                text -> text.startsWith("Last Raced|Pgm") || text.startsWith("Run-Up:"));
+        for (int line = start; line < page.getLineCount(); line++) {
+            String text = page.getLineText(line);
             if (text.startsWith("Last Raced|Pgm")) {
                 runningLineSectionsAreActive = true;
             } else if (text.startsWith("Run-Up:")) {
-                runningLines.add(line);
+                runningLines.add(page.getLine(line));
                 runningLineSectionsAreActive = false;
             }
 
             if (runningLineSectionsAreActive) {
-                runningLines.add(line);
+                runningLines.add(page.getLine(line));
             }
         }
         return runningLines;
@@ -584,4 +1285,128 @@ public class ChartParser {
         }
     }
 
+    /**
+     * Builds a {@link ChartParser}, using the default track, fractional and points of call
+     * services unless others are provided
+     */
+    public static class Builder {
+        private TrackService trackService;
+        private FractionalService fractionalService;
+        private PointsOfCallService pointsOfCallService;
+        private ExecutorService extractionExecutor;
+        private ExecutorService starterExecutor;
+        private ChartPageCache chartPageCache;
+        private ParseResultCache parseResultCache;
+        private String parserVersion = PARSER_VERSION;
+        private ChartLoader chartLoader = ChartLoader.DEFAULT;
+        private RunningLineLayoutCache runningLineLayoutCache = new RunningLineLayoutCache();
+
+        public Builder trackService(TrackService trackService) {
+            this.trackService = trackService;
+            return this;
+        }
+
+        public Builder fractionalService(FractionalService fractionalService) {
+            this.fractionalService = fractionalService;
+            return this;
+        }
+
+        public Builder pointsOfCallService(PointsOfCallService pointsOfCallService) {
+            this.pointsOfCallService = pointsOfCallService;
+            return this;
+        }
+
+        /**
+         * Extract the pages of each PDF in parallel using the executor, which is not shut down by
+         * the parser
+         */
+        public Builder extractionExecutor(ExecutorService extractionExecutor) {
+            this.extractionExecutor = extractionExecutor;
+            return this;
+        }
+
+        /**
+         * Parse the starters of each race in parallel using the executor (e.g. a {@link
+         * ForkJoinPool}), which is not shut down by the parser. The starters are still in running
+         * line order. The executor should not be one whose threads call the parser, as they wait
+         * for the starters to be parsed; and a custom {@link PointsOfCallService} must return a
+         * new copy of the points of call from each call, as each starter changes its own
+         */
+        public Builder starterExecutor(ExecutorService starterExecutor) {
+            this.starterExecutor = starterExecutor;
+            return this;
+        }
+
+        /**
+         * Read the pages of previously-extracted PDFs from (and write newly-extracted pages to) the
+         * cache
+         */
+        public Builder chartPageCache(ChartPageCache chartPageCache) {
+            this.chartPageCache = chartPageCache;
+            return this;
+        }
+
+        /**
+         * Return the results of PDFs parsed before from the cache, and cache the results of PDFs
+         * that have not
+         */
+        public Builder parseResultCache(ParseResultCache parseResultCache) {
+            this.parseResultCache = parseResultCache;
+            return this;
+        }
+
+        /**
+         * The version used in the keys of the {@link ParseResultCache}, if not {@link
+         * #PARSER_VERSION}; e.g. to include the version of customized services
+         */
+        public Builder parserVersion(String parserVersion) {
+            this.parserVersion = parserVersion;
+            return this;
+        }
+
+        /**
+         * How each PDF is loaded, if not {@link ChartLoader#DEFAULT}; e.g. to bound the memory
+         * used by very large PDFs
+         */
+        public Builder chartLoader(ChartLoader chartLoader) {
+            this.chartLoader = chartLoader;
+            return this;
+        }
+
+        /**
+         * The cache of running line header layouts, if not one of this parser's own; e.g. to share
+         * one between parsers, or to monitor its hits and misses
+         */
+        public Builder runningLineLayoutCache(RunningLineLayoutCache runningLineLayoutCache) {
+            this.runningLineLayoutCache = runningLineLayoutCache;
+            return this;
+        }
+
+        public ChartParser build() {
+            if (trackService == null || fractionalService == null ||
+                    pointsOfCallService == null) {
+                // the mappers are only created if the reference data has to be read from the
+                // CSV/JSON files, i.e. if there is no (up-to-date) snapshot of it
+                ReferenceDataSnapshot snapshot = ReferenceDataSnapshot.load().orElse(null);
+
+                if (trackService == null) {
+                    trackService = new TrackService(new TrackRepository(ChartParser::getCsvMapper,
+                            (snapshot != null ? snapshot.getTracks() : null)));
+                }
+                if (fractionalService == null) {
+                    fractionalService = new FractionalService(
+                            new FractionalPointRepository(ChartParser::getObjectMapper,
+                                    (snapshot != null ? snapshot.getFractionalPoints() : null)));
+                }
+                if (pointsOfCallService == null) {
+                    pointsOfCallService = new PointsOfCallService(
+                            new PointsOfCallRepository(ChartParser::getObjectMapper,
+                                    (snapshot != null ? snapshot.getPointsOfCallByFileName() :
+                                            Collections.emptyMap())));
+                }
+            }
+
+            return new ChartParser(this);
+        }
+    }
 }
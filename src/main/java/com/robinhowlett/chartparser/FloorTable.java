@@ -0,0 +1,72 @@
+package com.robinhowlett.chartparser;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * An immutable lookup of values by the greatest floor (e.g. race distance in feet) not exceeding a
+ * key, using a binary search of a sorted int[] of the floors. Unlike {@link
+ * java.util.TreeSet#floor(Object)}, looking up a value does not allocate a probe object (or box
+ * the key)
+ */
+public class FloorTable<T> {
+
+    private final int[] floors;
+    private final List<T> values;
+
+    /**
+     * A table of the values, each of which must have a different floor
+     */
+    public FloorTable(Collection<? extends T> values, ToIntFunction<? super T> floor) {
+        Object[] sorted = values.toArray();
+        int[] floors = new int[sorted.length];
+        Integer[] order = new Integer[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            @SuppressWarnings("unchecked")
+            T value = (T) sorted[i];
+            floors[i] = floor.applyAsInt(value);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(floors[a], floors[b]));
+
+        this.floors = new int[sorted.length];
+        Object[] ordered = new Object[sorted.length];
+        for (int i = 0; i < order.length; i++) {
+            this.floors[i] = floors[order[i]];
+            ordered[i] = sorted[order[i]];
+            if (i > 0 && this.floors[i] == this.floors[i - 1]) {
+                throw new IllegalArgumentException(String.format("More than one value has the " +
+                        "floor %d", this.floors[i]));
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<T> orderedValues = (List<T>) Arrays.asList(ordered);
+        this.values = Collections.unmodifiableList(orderedValues);
+    }
+
+    /**
+     * The value with the greatest floor not exceeding the key (or null if every floor exceeds it)
+     */
+    public T floor(int key) {
+        int index = Arrays.binarySearch(floors, key);
+        if (index < 0) {
+            // the insertion point is that of the first floor exceeding the key
+            index = -index - 2;
+        }
+        return (index < 0 ? null : values.get(index));
+    }
+
+    /**
+     * All the values, in ascending order of floor
+     */
+    public List<T> getValues() {
+        return values;
+    }
+
+    public int size() {
+        return floors.length;
+    }
+}
@@ -0,0 +1,321 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+import com.robinhowlett.chartparser.fractionals.FractionalPoint;
+import com.robinhowlett.chartparser.fractionals.FractionalPoint.Fractional;
+import com.robinhowlett.chartparser.fractionals.FractionalPointRepository;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallRepository;
+import com.robinhowlett.chartparser.tracks.Track;
+import com.robinhowlett.chartparser.tracks.TrackRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * The tracks, fractional points, and points of call read from the track-codes.csv,
+ * fractional-times.json, and points_of_call/*.json resources, in a compact binary form that is
+ * read with plain {@link DataInput} calls, without Jackson or reflection. The snapshot is written
+ * at build time (see the main method, run by the exec-maven-plugin in the process-classes phase)
+ * and records the length and CRC-32 of each resource it was written from; if the snapshot is
+ * missing, can not be read, or any of the resources on the classpath no longer match, it is not
+ * used and the repositories read the resources themselves
+ */
+public class ReferenceDataSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReferenceDataSnapshot.class);
+
+    public static final String FILENAME = "reference-data.bin";
+
+    private static final int MAGIC = 0x43505244; // "CPRD"
+    private static final int VERSION = 1;
+
+    // the resources the snapshot is written from, in the order they are written
+    static final List<String> SOURCES = createSources();
+
+    private final List<Track> tracks;
+    private final List<FractionalPoint> fractionalPoints;
+    private final Map<String, List<PointsOfCall>> pointsOfCallByFileName;
+
+    private ReferenceDataSnapshot(List<Track> tracks, List<FractionalPoint> fractionalPoints,
+            Map<String, List<PointsOfCall>> pointsOfCallByFileName) {
+        this.tracks = tracks;
+        this.fractionalPoints = fractionalPoints;
+        this.pointsOfCallByFileName = pointsOfCallByFileName;
+    }
+
+    private static List<String> createSources() {
+        List<String> sources = new ArrayList<>();
+        sources.add(TrackRepository.FILENAME);
+        sources.add(FractionalPointRepository.FILENAME);
+        sources.addAll(PointsOfCallRepository.FILENAMES);
+        return Collections.unmodifiableList(sources);
+    }
+
+    /**
+     * Writes the snapshot of the resources on the classpath to the directory (e.g. target/classes)
+     */
+    public static void main(String[] args) throws IOException, ChartParserException {
+        File snapshot = new File(args[0], FILENAME);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(snapshot))) {
+            write(out);
+        }
+        LOGGER.info(String.format("Wrote %s (%d bytes)", snapshot, snapshot.length()));
+    }
+
+    /**
+     * Reads the snapshot from the classpath, unless it is missing or stale
+     */
+    public static Optional<ReferenceDataSnapshot> load() {
+        InputStream snapshot = ReferenceDataSnapshot.class.getClassLoader()
+                .getResourceAsStream(FILENAME);
+        if (snapshot == null) {
+            LOGGER.debug(String.format("No %s on the classpath", FILENAME));
+            return Optional.empty();
+        }
+        return load(snapshot);
+    }
+
+    static Optional<ReferenceDataSnapshot> load(InputStream snapshot) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(snapshot))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.info(String.format("Not using %s as it is not of version %d", FILENAME,
+                        VERSION));
+                return Optional.empty();
+            }
+            int sources = in.readInt();
+            if (sources != SOURCES.size()) {
+                LOGGER.info(String.format("Not using %s as it is stale", FILENAME));
+                return Optional.empty();
+            }
+            for (String source : SOURCES) {
+                if (!in.readUTF().equals(source) || in.readLong() != checksum(source)) {
+                    LOGGER.info(String.format("Not using %s as %s has changed", FILENAME,
+                            source));
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(read(in));
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Unable to read %s", FILENAME), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the snapshot of the resources on the classpath, read as the repositories read them
+     */
+    static void write(OutputStream snapshot) throws IOException, ChartParserException {
+        List<Track> tracks = new TrackRepository(ChartParser.getCsvMapper()).findAll();
+        List<FractionalPoint> fractionalPoints = new ArrayList<>(
+                new FractionalPointRepository(ChartParser.getObjectMapper()).findAll());
+        PointsOfCallRepository pointsOfCallRepository =
+                new PointsOfCallRepository(ChartParser.getObjectMapper());
+
+        DataOutputStream out = new DataOutputStream(snapshot);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(SOURCES.size());
+        for (String source : SOURCES) {
+            out.writeUTF(source);
+            out.writeLong(checksum(source));
+        }
+
+        out.writeInt(tracks.size());
+        for (Track track : tracks) {
+            writeTrack(out, track);
+        }
+
+        out.writeInt(fractionalPoints.size());
+        for (FractionalPoint fractionalPoint : fractionalPoints) {
+            writeString(out, fractionalPoint.getDistance());
+            out.writeInt(fractionalPoint.getFloor());
+            writeFractionals(out, fractionalPoint.getFractionals());
+        }
+
+        for (String fileName : PointsOfCallRepository.FILENAMES) {
+            List<PointsOfCall> pointsOfCall = pointsOfCallRepository.findByFileName(fileName);
+            out.writeInt(pointsOfCall.size());
+            for (PointsOfCall pointsOfCallForDistance : pointsOfCall) {
+                writeString(out, pointsOfCallForDistance.getDistance());
+                out.writeInt(pointsOfCallForDistance.getFloor());
+                writeCalls(out, pointsOfCallForDistance.getCalls());
+            }
+        }
+        out.flush();
+    }
+
+    private static ReferenceDataSnapshot read(DataInput in) throws IOException {
+        int trackCount = in.readInt();
+        List<Track> tracks = new ArrayList<>(trackCount);
+        for (int i = 0; i < trackCount; i++) {
+            tracks.add(readTrack(in));
+        }
+
+        int fractionalPointCount = in.readInt();
+        List<FractionalPoint> fractionalPoints = new ArrayList<>(fractionalPointCount);
+        for (int i = 0; i < fractionalPointCount; i++) {
+            String distance = readString(in);
+            int floor = in.readInt();
+            fractionalPoints.add(new FractionalPoint(distance, floor, readFractionals(in)));
+        }
+
+        Map<String, List<PointsOfCall>> pointsOfCallByFileName = new LinkedHashMap<>();
+        for (String fileName : PointsOfCallRepository.FILENAMES) {
+            int pointsOfCallCount = in.readInt();
+            List<PointsOfCall> pointsOfCall = new ArrayList<>(pointsOfCallCount);
+            for (int i = 0; i < pointsOfCallCount; i++) {
+                String distance = readString(in);
+                int floor = in.readInt();
+                pointsOfCall.add(new PointsOfCall(distance, floor, readCalls(in)));
+            }
+            pointsOfCallByFileName.put(fileName, pointsOfCall);
+        }
+
+        return new ReferenceDataSnapshot(tracks, fractionalPoints, pointsOfCallByFileName);
+    }
+
+    private static void writeTrack(DataOutput out, Track track) throws IOException {
+        writeString(out, track.getCode());
+        writeString(out, track.getCountry());
+        writeString(out, track.getName());
+    }
+
+    private static Track readTrack(DataInput in) throws IOException {
+        Track track = new Track();
+        track.setCode(readString(in));
+        track.setCountry(readString(in));
+        track.setName(readString(in));
+        return track;
+    }
+
+    private static void writeFractionals(DataOutput out, List<Fractional> fractionals)
+            throws IOException {
+        out.writeInt(fractionals != null ? fractionals.size() : -1);
+        if (fractionals != null) {
+            for (Fractional fractional : fractionals) {
+                out.writeInt(fractional.getPoint());
+                writeString(out, fractional.getText());
+                out.writeInt(fractional.getFeet());
+                writeString(out, fractional.getTime());
+                out.writeBoolean(fractional.getMillis() != null);
+                if (fractional.getMillis() != null) {
+                    out.writeLong(fractional.getMillis());
+                }
+            }
+        }
+    }
+
+    private static List<Fractional> readFractionals(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<Fractional> fractionals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int point = in.readInt();
+            String text = readString(in);
+            int feet = in.readInt();
+            String time = readString(in);
+            Long millis = (in.readBoolean() ? in.readLong() : null);
+            fractionals.add(new Fractional(point, text, feet, time, millis));
+        }
+        return fractionals;
+    }
+
+    private static void writeCalls(DataOutput out, List<PointOfCall> calls) throws IOException {
+        out.writeInt(calls != null ? calls.size() : -1);
+        if (calls != null) {
+            for (PointOfCall call : calls) {
+                out.writeInt(call.getPoint());
+                writeString(out, call.getText());
+                out.writeBoolean(call.getFeet() != null);
+                if (call.getFeet() != null) {
+                    out.writeInt(call.getFeet());
+                }
+            }
+        }
+    }
+
+    private static List<PointOfCall> readCalls(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<PointOfCall> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int point = in.readInt();
+            String text = readString(in);
+            Integer feet = (in.readBoolean() ? in.readInt() : null);
+            calls.add(new PointOfCall(point, text, feet));
+        }
+        return calls;
+    }
+
+    // writes a String that may be null
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    // reads a String written by writeString
+    private static String readString(DataInput in) throws IOException {
+        return (in.readBoolean() ? in.readUTF() : null);
+    }
+
+    // the length of the resource, in the upper 32 bits, and its CRC-32 (or -1 if it is missing)
+    private static long checksum(String resource) throws IOException {
+        try (InputStream in = ReferenceDataSnapshot.class.getClassLoader()
+                .getResourceAsStream(resource)) {
+            if (in == null) {
+                return -1;
+            }
+            CRC32 crc = new CRC32();
+            long length = 0;
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+            return (length << 32) | crc.getValue();
+        }
+    }
+
+    public List<Track> getTracks() {
+        return tracks;
+    }
+
+    public List<FractionalPoint> getFractionalPoints() {
+        return fractionalPoints;
+    }
+
+    /**
+     * The points of call read from each of the {@link PointsOfCallRepository#FILENAMES}
+     */
+    public Map<String, List<PointsOfCall>> getPointsOfCallByFileName() {
+        return pointsOfCallByFileName;
+    }
+}
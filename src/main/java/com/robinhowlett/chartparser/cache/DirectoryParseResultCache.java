@@ -0,0 +1,137 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.AnnotationIntrospectorPair;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link ParseResultCache} storing the {@link RaceResult}s of each PDF as a JSON file in a
+ * local directory. By default they are serialized with a copy of {@link
+ * ChartParser#getObjectMapper()} that also writes the fields left out of the JSON output (e.g. the
+ * program of each {@link com.robinhowlett.chartparser.charts.pdf.Trainer}), so that cached
+ * results equal those parsed. Files that can not be read (e.g. as the model has since changed) are
+ * treated as not being cached
+ */
+public class DirectoryParseResultCache implements ParseResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectoryParseResultCache.class);
+    private static final TypeReference<List<RaceResult>> RACE_RESULTS =
+            new TypeReference<List<RaceResult>>() {
+            };
+
+    private final Path directory;
+    private final ObjectMapper mapper;
+
+    public DirectoryParseResultCache(Path directory) {
+        this(directory, createObjectMapper());
+    }
+
+    /**
+     * Stores the results serialized with the mapper instead; note that a mapper that leaves fields
+     * out (as {@link ChartParser#getObjectMapper()} does) returns results that do not equal those
+     * parsed
+     */
+    public DirectoryParseResultCache(Path directory, ObjectMapper mapper) {
+        this.directory = directory;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Optional<List<RaceResult>> get(String key) {
+        Path path = getPath(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(mapper.readValue(path.toFile(), RACE_RESULTS));
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Unable to read cached race results: %s", path), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the JSON in full before replacing any existing file. Failures are logged, as the
+     * results can always be parsed again
+     */
+    @Override
+    public void put(String key, List<RaceResult> raceResults) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "race-results", ".tmp");
+            try {
+                try (OutputStream outputStream = Files.newOutputStream(temp)) {
+                    mapper.writerFor(RACE_RESULTS).writeValue(outputStream, raceResults);
+                }
+                Files.move(temp, getPath(key), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOGGER.warn(String.format("Unable to cache race results: %s", getPath(key)), e);
+        }
+    }
+
+    /**
+     * A copy of {@link ChartParser#getObjectMapper()} that reads and writes the fields of the model
+     * rather than its getters and setters (some getters default or derive their values), including
+     * fields annotated with {@link com.fasterxml.jackson.annotation.JsonIgnore} and the properties
+     * named by a field's {@link JsonIgnoreProperties}
+     */
+    static ObjectMapper createObjectMapper() {
+        ObjectMapper mapper = ChartParser.getObjectMapper().copy();
+        mapper.setVisibility(PropertyAccessor.GETTER, Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.IS_GETTER, Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.SETTER, Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+        mapper.setAnnotationIntrospector(new IgnoredFieldsIntrospector(
+                mapper.getSerializationConfig().getAnnotationIntrospector()));
+        return mapper;
+    }
+
+    Path getPath(String key) {
+        // keep the key safe for use as a file name
+        return directory.resolve(key.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    // the mapper's own introspector, except that no field (nor property of a field) is ignored
+    private static class IgnoredFieldsIntrospector extends AnnotationIntrospectorPair {
+
+        IgnoredFieldsIntrospector(AnnotationIntrospector introspector) {
+            super(introspector, NopAnnotationIntrospector.instance);
+        }
+
+        @Override
+        public boolean hasIgnoreMarker(AnnotatedMember member) {
+            return !(member instanceof AnnotatedField) && super.hasIgnoreMarker(member);
+        }
+
+        @Override
+        public JsonIgnoreProperties.Value findPropertyIgnorals(Annotated annotated) {
+            return (annotated instanceof AnnotatedMember ? JsonIgnoreProperties.Value.empty() :
+                    super.findPropertyIgnorals(annotated));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.robinhowlett.chartparser.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Creates the SHA-256 digest of a file's content, used as the basis of cache keys so that the
+ * same PDF is recognised regardless of its file name or location
+ */
+public class FileDigest {
+
+    public static String sha256Hex(File file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            return sha256Hex(inputStream);
+        }
+    }
+
+    public static String sha256Hex(InputStream inputStream) throws IOException {
+        MessageDigest digest = sha256();
+        try (DigestInputStream digestInputStream = new DigestInputStream(inputStream, digest)) {
+            byte[] buffer = new byte[8192];
+            while (digestInputStream.read(buffer) != -1) {
+                // read through to the end to update the digest
+            }
+        }
+
+        return toHex(digest.digest());
+    }
+
+    /**
+     * The digest of the bytes between the buffer's position and limit; the buffer's own position
+     * is not changed
+     */
+    public static String sha256Hex(ByteBuffer buffer) {
+        MessageDigest digest = sha256();
+        digest.update(buffer.duplicate());
+        return toHex(digest.digest());
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
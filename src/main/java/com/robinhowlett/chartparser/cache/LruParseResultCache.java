@@ -0,0 +1,47 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An in-memory {@link ParseResultCache} holding the results of up to a maximum number of PDFs,
+ * evicting the least recently used when full. The same {@link RaceResult} instances are returned
+ * for every hit, so they should not be modified
+ */
+public class LruParseResultCache implements ParseResultCache {
+    private final Map<String, List<RaceResult>> raceResultsByKey;
+
+    public LruParseResultCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size must be at least 1");
+        }
+        // access-ordered, so the eldest entry is the least recently used
+        this.raceResultsByKey = new LinkedHashMap<String, List<RaceResult>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<RaceResult>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<List<RaceResult>> get(String key) {
+        List<RaceResult> raceResults = raceResultsByKey.get(key);
+        return (raceResults != null ? Optional.of(new ArrayList<>(raceResults)) :
+                Optional.empty());
+    }
+
+    @Override
+    public synchronized void put(String key, List<RaceResult> raceResults) {
+        raceResultsByKey.put(key, new ArrayList<>(raceResults));
+    }
+
+    public synchronized int size() {
+        return raceResultsByKey.size();
+    }
+}
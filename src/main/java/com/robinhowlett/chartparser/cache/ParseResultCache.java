@@ -0,0 +1,20 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caches the {@link RaceResult}s parsed from a PDF so that, if the same PDF is parsed again,
+ * neither PDFBox nor the parsing needs to run. The keys (created by {@link ChartParser}) combine
+ * the SHA-256 digest of the PDF's content with the version of the parser. A cached result should
+ * equal the result of parsing the PDF again
+ */
+public interface ParseResultCache {
+
+    Optional<List<RaceResult>> get(String key);
+
+    void put(String key, List<RaceResult> raceResults);
+}
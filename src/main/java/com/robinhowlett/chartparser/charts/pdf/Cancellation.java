@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
@@ -38,8 +40,12 @@ public class Cancellation {
     }
 
     public static Cancellation parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String rawText = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static Cancellation parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.CANCELLATION)) {
+            String rawText = page.getLineText(line);
             Optional<Cancellation> cancellation = checkForCancellation(rawText);
             if (cancellation.isPresent()) {
                 return cancellation.get();
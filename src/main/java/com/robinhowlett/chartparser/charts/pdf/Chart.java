@@ -10,6 +10,16 @@ public class Chart {
 
     public static final BigDecimal THREE = new BigDecimal(3);
 
+    // the largest magnitude for which scaling by 1000 in double arithmetic is accurate to well
+    // within TIE_TOLERANCE; chart coordinates and sizes are far smaller
+    private static final double FAST_ROUNDING_LIMIT = 100_000;
+    private static final double TIE_TOLERANCE = 1e-6;
+
+    // the minimum spacing for a space is just over 0.001 (see addWhitespaceIfRequired), and for a
+    // pipe just over 3, in thousandths
+    private static final long SPACE_THOUSANDTHS = 2;
+    private static final long PIPE_THOUSANDTHS = 3001;
+
     /**
      * Round half-up and to three decimal places
      *
@@ -29,6 +39,37 @@ public class Chart {
         return bd;
     }
 
+    /**
+     * The value rounded half-up to three decimal places, exactly as {@link #round(double)} does, as
+     * an integer number of thousandths (e.g. 31.630505 is 31631). Values are scaled in double
+     * arithmetic, only falling back to {@link BigDecimal} for values too large for that to be exact
+     * enough, or too close to a tie (i.e. 0.0005) to be sure which way {@link
+     * Double#toString(double)} rounds
+     *
+     * @throws ArithmeticException if the value is not finite or is out of the range of an int
+     */
+    public static int toThousandths(double d) {
+        if (Math.abs(d) < FAST_ROUNDING_LIMIT) {
+            double scaled = d * 1000;
+            double floor = Math.floor(scaled);
+            double fraction = scaled - floor;
+            if (Math.abs(fraction - 0.5) > TIE_TOLERANCE) {
+                return (int) (fraction > 0.5 ? floor + 1 : floor);
+            }
+        } else if (Double.isNaN(d) || Double.isInfinite(d)) {
+            throw new ArithmeticException(String.format("Unable to round %s", d));
+        }
+        return round(d).unscaledValue().intValueExact();
+    }
+
+    /**
+     * The value of an integer number of thousandths, which is the same double as {@link
+     * #round(double)} gives
+     */
+    public static double fromThousandths(int thousandths) {
+        return thousandths / 1000.0;
+    }
+
     /**
      * Converts the list of {@link ChartCharacter}s into a String, including inserting space, pipe,
      * and new line characters when the horizontal and vertical positions of adjacent characters
@@ -56,20 +97,51 @@ public class Chart {
         return sb.toString();
     }
 
+    /**
+     * Converts the characters of the {@link ChartPage} from {@code start} (inclusive) to {@code
+     * end} (exclusive) into a String, in the same way as {@link #convertToText(List)}
+     */
+    public static String convertToText(ChartPage page, int start, int end) {
+        StringBuilder sb = new StringBuilder(end - start);
+        for (int curr = start; curr < end; curr++) {
+            if (curr > start) {
+                int prev = curr - 1;
+                // add a whitespace (if required)
+                sb.append(getWhitespace(page.getxDirAdjThousandths(curr) -
+                        ((long) page.getxDirAdjThousandths(prev) +
+                                page.getWidthDirAdjThousandths(prev))));
+                // add a new line (if required)
+                if (Math.abs(page.getyDirAdj(curr) - page.getyDirAdj(prev)) > 4) {
+                    sb.append(System.lineSeparator());
+                }
+            }
+            // add the actual character
+            sb.append(page.getUnicode(curr));
+        }
+        return sb.toString();
+    }
+
     /**
      * Adds a space or a tab marker (using a pipe character) when the positions of two characters
      * suggests it. Otherwise returns an empty String
      */
     public static String addWhitespaceIfRequired(double currXDir, double prevXDir,
             double prevWidthDirAdj) {
-        BigDecimal spacing = round(currXDir).subtract(round(prevXDir).add(round(prevWidthDirAdj)));
+        return getWhitespace(toThousandths(currXDir) -
+                ((long) toThousandths(prevXDir) + toThousandths(prevWidthDirAdj)));
+    }
 
+    /**
+     * The whitespace for the spacing (in thousandths) between the end of one character and the
+     * start of the next
+     */
+    private static String getWhitespace(long spacing) {
         // changed to 0.001 from ZERO; found a few occurances of when it appeared there was
         // rounding up
-        if (spacing.compareTo(new BigDecimal(0.001)) > 0 && spacing.compareTo(THREE) <= 0) {
-            return " "; // a space
-        } else if (spacing.compareTo(THREE) > 0) {
+        if (spacing >= PIPE_THOUSANDTHS) {
             return "|"; // used as a CSV separator
+        } else if (spacing >= SPACE_THOUSANDTHS) {
+            return " "; // a space
         }
 
         return ""; // no whitespace
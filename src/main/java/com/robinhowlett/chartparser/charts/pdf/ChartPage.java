@@ -0,0 +1,421 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * The {@link ChartCharacter}s of a chart page stored column-by-column in parallel primitive arrays,
+ * along with the index of the first character of each line. Characters and lines are addressed by
+ * index so a page can be scanned, and lines converted to text, without creating a {@link
+ * ChartCharacter} (or a {@link List}) for each one; they are only created for the lines that ask
+ * for them. Positions and sizes are held as integer thousandths (see {@link
+ * Chart#toThousandths(double)}), the precision the characters are rounded to when extracted.
+ * <p>
+ * Every section parser scans the lines of the same page for its own text, so the text of each line
+ * is converted once, when first asked for, and shared by them all until the page is changed
+ */
+public class ChartPage {
+    private static final int DEFAULT_CAPACITY = 2048;
+
+    private int[] xDirAdj;
+    private int[] yDirAdj;
+    private int[] fontSize;
+    private int[] xScale;
+    private int[] height;
+    private int[] widthOfSpace;
+    private int[] widthDirAdj;
+    private char[] unicode;
+    private int size;
+
+    // the index of the first character of each line (the last entry marks the end of the page)
+    private int[] lineStarts = new int[]{0, 0};
+    private int lineCount = 1;
+
+    // the text of each line, converted when first asked for (see getLineText)
+    private String[] lineTexts;
+    // the lines of each section, classified when first asked for (see getSectionLines)
+    private SectionRouter sectionRouter;
+
+    public ChartPage() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ChartPage(int capacity) {
+        xDirAdj = new int[capacity];
+        yDirAdj = new int[capacity];
+        fontSize = new int[capacity];
+        xScale = new int[capacity];
+        height = new int[capacity];
+        widthOfSpace = new int[capacity];
+        widthDirAdj = new int[capacity];
+        unicode = new char[capacity];
+    }
+
+    /**
+     * Creates a single-line page of the {@link ChartCharacter}s
+     */
+    public static ChartPage fromChartCharacters(List<ChartCharacter> chartCharacters) {
+        ChartPage page = new ChartPage(Math.max(chartCharacters.size(), 1));
+        for (ChartCharacter chartCharacter : chartCharacters) {
+            page.add(chartCharacter);
+        }
+        page.setLineStarts(new int[]{0}, 1);
+        return page;
+    }
+
+    /**
+     * Creates a page from {@link ChartCharacter}s that have already been separated into lines
+     */
+    public static ChartPage fromLines(List<List<ChartCharacter>> lines) {
+        int total = 0;
+        for (List<ChartCharacter> line : lines) {
+            total += line.size();
+        }
+
+        ChartPage page = new ChartPage(Math.max(total, 1));
+        int[] starts = new int[Math.max(lines.size(), 1)];
+        for (int i = 0; i < lines.size(); i++) {
+            starts[i] = page.size;
+            for (ChartCharacter chartCharacter : lines.get(i)) {
+                page.add(chartCharacter);
+            }
+        }
+        page.setLineStarts(starts, Math.max(lines.size(), 1));
+        return page;
+    }
+
+    public void add(ChartCharacter chartCharacter) {
+        add(chartCharacter.getxDirAdj(), chartCharacter.getyDirAdj(),
+                chartCharacter.getFontSize(), chartCharacter.getxScale(),
+                chartCharacter.getHeight(), chartCharacter.getWidthOfSpace(),
+                chartCharacter.getWidthDirAdj(), chartCharacter.getUnicode());
+    }
+
+    /**
+     * Adds a character, rounding its positions and sizes half-up to three decimal places
+     */
+    public void add(double xDirAdj, double yDirAdj, double fontSize, double xScale, double height,
+            double widthOfSpace, double widthDirAdj, char unicode) {
+        addThousandths(Chart.toThousandths(xDirAdj), Chart.toThousandths(yDirAdj),
+                Chart.toThousandths(fontSize), Chart.toThousandths(xScale),
+                Chart.toThousandths(height), Chart.toThousandths(widthOfSpace),
+                Chart.toThousandths(widthDirAdj), unicode);
+    }
+
+    /**
+     * Adds a character whose positions and sizes are in thousandths
+     */
+    public void addThousandths(int xDirAdj, int yDirAdj, int fontSize, int xScale, int height,
+            int widthOfSpace, int widthDirAdj, char unicode) {
+        ensureCapacity(size + 1);
+        this.xDirAdj[size] = xDirAdj;
+        this.yDirAdj[size] = yDirAdj;
+        this.fontSize[size] = fontSize;
+        this.xScale[size] = xScale;
+        this.height[size] = height;
+        this.widthOfSpace[size] = widthOfSpace;
+        this.widthDirAdj[size] = widthDirAdj;
+        this.unicode[size] = unicode;
+        size++;
+        lineStarts[lineCount] = size;
+        lineTexts = null;
+        sectionRouter = null;
+    }
+
+    /**
+     * Appends the characters from {@code start} (inclusive) to {@code end} (exclusive) of another
+     * page. The lines of this page need to be separated again afterwards
+     */
+    public void addAll(ChartPage other, int start, int end) {
+        int length = end - start;
+        ensureCapacity(size + length);
+        System.arraycopy(other.xDirAdj, start, xDirAdj, size, length);
+        System.arraycopy(other.yDirAdj, start, yDirAdj, size, length);
+        System.arraycopy(other.fontSize, start, fontSize, size, length);
+        System.arraycopy(other.xScale, start, xScale, size, length);
+        System.arraycopy(other.height, start, height, size, length);
+        System.arraycopy(other.widthOfSpace, start, widthOfSpace, size, length);
+        System.arraycopy(other.widthDirAdj, start, widthDirAdj, size, length);
+        System.arraycopy(other.unicode, start, unicode, size, length);
+        size += length;
+        lineStarts[lineCount] = size;
+        lineTexts = null;
+        sectionRouter = null;
+    }
+
+    /**
+     * Appends all the characters of another page. The lines of this page need to be separated
+     * again afterwards
+     */
+    public void addAll(ChartPage other) {
+        addAll(other, 0, other.size);
+    }
+
+    /**
+     * Appends the characters and lines of another page, without separating the lines again. If
+     * {@code continuesLastLine} is true, the first line of the other page is joined on to the last
+     * line of this page
+     */
+    public void addLines(ChartPage other, boolean continuesLastLine) {
+        if (other.size == 0) {
+            return;
+        }
+
+        int offset = size;
+        addAll(other);
+
+        int firstLine = (continuesLastLine ? 1 : 0);
+        int[] starts = Arrays.copyOf(lineStarts, lineCount + other.lineCount - firstLine);
+        int count = lineCount;
+        for (int line = firstLine; line < other.lineCount; line++) {
+            starts[count++] = other.lineStarts[line] + offset;
+        }
+        setLineStarts(starts, count);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > unicode.length) {
+            int newCapacity = Math.max(capacity, unicode.length * 2);
+            xDirAdj = Arrays.copyOf(xDirAdj, newCapacity);
+            yDirAdj = Arrays.copyOf(yDirAdj, newCapacity);
+            fontSize = Arrays.copyOf(fontSize, newCapacity);
+            xScale = Arrays.copyOf(xScale, newCapacity);
+            height = Arrays.copyOf(height, newCapacity);
+            widthOfSpace = Arrays.copyOf(widthOfSpace, newCapacity);
+            widthDirAdj = Arrays.copyOf(widthDirAdj, newCapacity);
+            unicode = Arrays.copyOf(unicode, newCapacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getxDirAdj(int index) {
+        return Chart.fromThousandths(xDirAdj[index]);
+    }
+
+    public int getxDirAdjThousandths(int index) {
+        return xDirAdj[index];
+    }
+
+    public double getyDirAdj(int index) {
+        return Chart.fromThousandths(yDirAdj[index]);
+    }
+
+    public int getyDirAdjThousandths(int index) {
+        return yDirAdj[index];
+    }
+
+    public double getFontSize(int index) {
+        return Chart.fromThousandths(fontSize[index]);
+    }
+
+    public int getFontSizeThousandths(int index) {
+        return fontSize[index];
+    }
+
+    public double getxScale(int index) {
+        return Chart.fromThousandths(xScale[index]);
+    }
+
+    public int getxScaleThousandths(int index) {
+        return xScale[index];
+    }
+
+    public double getHeight(int index) {
+        return Chart.fromThousandths(height[index]);
+    }
+
+    public int getHeightThousandths(int index) {
+        return height[index];
+    }
+
+    public double getWidthOfSpace(int index) {
+        return Chart.fromThousandths(widthOfSpace[index]);
+    }
+
+    public int getWidthOfSpaceThousandths(int index) {
+        return widthOfSpace[index];
+    }
+
+    public double getWidthDirAdj(int index) {
+        return Chart.fromThousandths(widthDirAdj[index]);
+    }
+
+    public int getWidthDirAdjThousandths(int index) {
+        return widthDirAdj[index];
+    }
+
+    public char getUnicode(int index) {
+        return unicode[index];
+    }
+
+    /**
+     * Sets the index of the first character of each line (in ascending order)
+     */
+    public void setLineStarts(int[] starts, int count) {
+        lineStarts = Arrays.copyOf(starts, count + 1);
+        lineStarts[count] = size;
+        lineCount = count;
+        lineTexts = null;
+        sectionRouter = null;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getLineStart(int line) {
+        return lineStarts[line];
+    }
+
+    public int getLineEnd(int line) {
+        return lineStarts[line + 1];
+    }
+
+    /**
+     * The vertical position of the first character of the line (or 0 for an empty line)
+     */
+    public double getLineYDirAdj(int line) {
+        int start = getLineStart(line);
+        return (start < getLineEnd(line) ? getyDirAdj(start) : 0);
+    }
+
+    /**
+     * The line as a String, converted the first time it is asked for and then reused. Pages are
+     * parsed by a single thread at a time; were two threads to read a line at once, each may
+     * convert it, but both get the same text
+     *
+     * @see Chart#convertToText(ChartPage, int, int)
+     */
+    public String getLineText(int line) {
+        String[] texts = lineTexts;
+        if (texts == null) {
+            texts = new String[lineCount];
+            lineTexts = texts;
+        }
+        String text = texts[line];
+        if (text == null) {
+            text = Chart.convertToText(this, getLineStart(line), getLineEnd(line));
+            texts[line] = text;
+        }
+        return text;
+    }
+
+    /**
+     * The indices of the lines that may be part of the section, in ascending order. The lines of
+     * every section are classified together, the first time any section's lines are asked for
+     *
+     * @see SectionRouter
+     */
+    public int[] getSectionLines(SectionRouter.Section section) {
+        SectionRouter router = sectionRouter;
+        if (router == null) {
+            router = new SectionRouter(this);
+            sectionRouter = router;
+        }
+        return router.getLines(section);
+    }
+
+    /**
+     * The index of the first line of the section whose text satisfies the predicate, or the number
+     * of lines of the page if none do
+     */
+    public int findSectionLine(SectionRouter.Section section, Predicate<String> predicate) {
+        for (int line : getSectionLines(section)) {
+            if (predicate.test(getLineText(line))) {
+                return line;
+            }
+        }
+        return lineCount;
+    }
+
+    public ChartCharacter getChartCharacter(int index) {
+        ChartCharacter chartCharacter = new ChartCharacter();
+        chartCharacter.setxDirAdj(Chart.fromThousandths(xDirAdj[index]));
+        chartCharacter.setyDirAdj(Chart.fromThousandths(yDirAdj[index]));
+        chartCharacter.setFontSize(Chart.fromThousandths(fontSize[index]));
+        chartCharacter.setxScale(Chart.fromThousandths(xScale[index]));
+        chartCharacter.setHeight(Chart.fromThousandths(height[index]));
+        chartCharacter.setWidthOfSpace(Chart.fromThousandths(widthOfSpace[index]));
+        chartCharacter.setWidthDirAdj(Chart.fromThousandths(widthDirAdj[index]));
+        chartCharacter.setUnicode(unicode[index]);
+        return chartCharacter;
+    }
+
+    /**
+     * Creates the {@link ChartCharacter}s from {@code start} (inclusive) to {@code end}
+     * (exclusive)
+     */
+    public List<ChartCharacter> getChartCharacters(int start, int end) {
+        List<ChartCharacter> chartCharacters = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            chartCharacters.add(getChartCharacter(i));
+        }
+        return chartCharacters;
+    }
+
+    public List<ChartCharacter> getChartCharacters() {
+        return getChartCharacters(0, size);
+    }
+
+    public List<ChartCharacter> getLine(int line) {
+        return getChartCharacters(getLineStart(line), getLineEnd(line));
+    }
+
+    public List<List<ChartCharacter>> getLines() {
+        List<List<ChartCharacter>> lines = new ArrayList<>(lineCount);
+        for (int line = 0; line < lineCount; line++) {
+            lines.add(getLine(line));
+        }
+        return lines;
+    }
+
+    @Override
+    public String toString() {
+        return "ChartPage{" +
+                "size=" + size +
+                ", lineCount=" + lineCount +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ChartPage that = (ChartPage) o;
+
+        if (size != that.size) return false;
+        if (lineCount != that.lineCount) return false;
+        for (int i = 0; i < size; i++) {
+            if (xDirAdj[i] != that.xDirAdj[i]) return false;
+            if (yDirAdj[i] != that.yDirAdj[i]) return false;
+            if (fontSize[i] != that.fontSize[i]) return false;
+            if (xScale[i] != that.xScale[i]) return false;
+            if (height[i] != that.height[i]) return false;
+            if (widthOfSpace[i] != that.widthOfSpace[i]) return false;
+            if (widthDirAdj[i] != that.widthDirAdj[i]) return false;
+            if (unicode[i] != that.unicode[i]) return false;
+        }
+        for (int line = 0; line < lineCount; line++) {
+            if (lineStarts[line] != that.lineStarts[line]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        result = 31 * result + lineCount;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + xDirAdj[i];
+            result = 31 * result + yDirAdj[i];
+            result = 31 * result + (int) unicode[i];
+        }
+        return result;
+    }
+}
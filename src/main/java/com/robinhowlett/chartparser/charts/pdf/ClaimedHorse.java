@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
@@ -35,8 +36,12 @@ public class ClaimedHorse {
     }
 
     public static List<ClaimedHorse> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<ClaimedHorse> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.CLAIMED_HORSES)) {
+            String text = page.getLineText(line);
             Matcher matcher = CLAIMED_HORSES.matcher(text);
             if (matcher.find()) {
                 return parseClaimedHorses(text);
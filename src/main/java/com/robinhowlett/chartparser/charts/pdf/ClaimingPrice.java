@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
@@ -39,8 +40,13 @@ public class ClaimingPrice {
 
     public static List<ClaimingPrice> parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<ClaimingPrice> parse(ChartPage page)
+            throws ChartParserException {
+        for (int line : page.getSectionLines(Section.CLAIMING_PRICES)) {
+            String text = page.getLineText(line);
             Matcher matcher = CLAIMING_PRICES.matcher(text);
             if (matcher.find()) {
                 return parseClaimingPrices(text);
@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -12,8 +14,12 @@ public class DeadHeat {
     private static final Pattern DEAD_HEATS = Pattern.compile("Dead Heats:.+");
 
     public static boolean parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static boolean parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.DEAD_HEATS)) {
+            String text = page.getLineText(line);
             if (parseDeadHeat(text)) return true;
         }
         return false;
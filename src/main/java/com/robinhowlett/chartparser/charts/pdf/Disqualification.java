@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.util.ArrayList;
@@ -33,8 +34,13 @@ public class Disqualification {
 
     public static List<Disqualification> parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<Disqualification> parse(ChartPage page)
+            throws ChartParserException {
+        for (int line : page.getSectionLines(Section.DISQUALIFICATIONS)) {
+            String text = page.getLineText(line);
             Matcher matcher = DISQUALIFICATIONS.matcher(text);
             if (matcher.find()) {
                 return parseDisqualifications(text);
@@ -3,6 +3,7 @@ package com.robinhowlett.chartparser.charts.pdf;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import com.robinhowlett.chartparser.fractionals.FractionalService;
 
@@ -73,13 +74,21 @@ public class DistanceSurfaceTrackRecord {
         this.trackRecord = trackRecord;
     }
 
-    public static DistanceSurfaceTrackRecord parse(final List<List<ChartCharacter>> lines)
+    public static DistanceSurfaceTrackRecord parse(List<List<ChartCharacter>> lines)
+            throws ChartParserException {
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static DistanceSurfaceTrackRecord parse(ChartPage page)
             throws ChartParserException {
         boolean found = false;
         StringBuilder distanceSurfaceTrackRecordBuilder = new StringBuilder();
         String prefix = "";
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        int start = page.findSectionLine(Section.DISTANCE_SURFACE_TRACK_RECORD,
+                text -> DIST_SURF_RECORD_PATTERN.matcher(text).find() &&
+                        isValidDistanceText(text));
+        for (int line = start; line < page.getLineCount(); line++) {
+            String text = page.getLineText(line);
             if (found) {
                 Matcher matcher = PURSE_PATTERN.matcher(text);
                 if (matcher.find()) {
@@ -1,6 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
-import java.util.ArrayList;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -18,10 +19,16 @@ public class Footnotes {
             Pattern.compile("^Track Attendance:|^Handle:|^ISW =|^ITW =|^Attendance:");
 
     public static String parse(List<List<ChartCharacter>> lines) {
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static String parse(ChartPage page) {
         boolean footnotesFound = false;
-        List<ChartCharacter> footnotes = new ArrayList<>();
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        ChartPage footnotes = new ChartPage();
+        int start = page.findSectionLine(Section.FOOTNOTES,
+                text -> FOOTNOTES.matcher(text).find());
+        for (int line = start; line < page.getLineCount(); line++) {
+            String text = page.getLineText(line);
 
             Matcher matcher = COPYRIGHT_PATTERN.matcher(text);
             if (matcher.find()) {
@@ -34,7 +41,7 @@ public class Footnotes {
             }
 
             if (footnotesFound) {
-                footnotes.addAll(line);
+                footnotes.addAll(page, page.getLineStart(line), page.getLineEnd(line));
             }
 
             matcher = FOOTNOTES.matcher(text);
@@ -43,7 +50,7 @@ public class Footnotes {
             }
         }
 
-        String notes = Chart.convertToText(footnotes);
+        String notes = Chart.convertToText(footnotes, 0, footnotes.size());
         notes = notes.replaceAll("\nDenotes a Keeneland Sales Graduate", "")
                 .replaceAll("\n", " ")
                 .replaceAll("\\|", " ");
@@ -0,0 +1,111 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An Aho-Corasick automaton that finds which of a set of (ASCII) keywords occur anywhere in a text
+ * in a single pass over its characters, however many keywords there are. Each keyword has a bit
+ * mask, and matching a text returns the masks of the keywords found combined together
+ */
+public class KeywordMatcher {
+    private static final int ASCII = 128;
+
+    // the symbol of each ASCII character used by a keyword (or -1)
+    private final int[] symbols = new int[ASCII];
+    // the next state for each state and symbol
+    private final int[][] transitions;
+    // the masks of the keywords ending at each state
+    private final long[] outputs;
+
+    public KeywordMatcher(Map<String, Long> keywordMasks) {
+        Arrays.fill(symbols, -1);
+        int symbolCount = 0;
+        for (String keyword : keywordMasks.keySet()) {
+            for (char c : keyword.toCharArray()) {
+                if (c >= ASCII) {
+                    throw new IllegalArgumentException(String.format("Keyword %s is not ASCII",
+                            keyword));
+                }
+                if (symbols[c] < 0) {
+                    symbols[c] = symbolCount++;
+                }
+            }
+        }
+
+        // build the trie of the keywords
+        List<int[]> trie = new ArrayList<>();
+        List<Long> masks = new ArrayList<>();
+        trie.add(newState(symbolCount));
+        masks.add(0L);
+        for (Map.Entry<String, Long> keywordMask : keywordMasks.entrySet()) {
+            int state = 0;
+            for (char c : keywordMask.getKey().toCharArray()) {
+                int symbol = symbols[c];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState(symbolCount));
+                    masks.add(0L);
+                }
+                state = trie.get(state)[symbol];
+            }
+            masks.set(state, masks.get(state) | keywordMask.getValue());
+        }
+
+        // breadth-first, point each missing transition to where the longest suffix matched so far
+        // continues, and add the keywords ending at that suffix to each state's output
+        transitions = trie.toArray(new int[trie.size()][]);
+        outputs = new long[transitions.length];
+        int[] failures = new int[transitions.length];
+        Deque<Integer> queue = new ArrayDeque<>();
+        outputs[0] = masks.get(0);
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int next = transitions[0][symbol];
+            if (next < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = masks.get(state) | outputs[failures[state]];
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[failures[state]][symbol];
+                } else {
+                    failures[next] = transitions[failures[state]][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private static int[] newState(int symbolCount) {
+        int[] state = new int[symbolCount];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * The masks of all the keywords found in the text, combined together (or 0 if none are)
+     */
+    public long match(CharSequence text) {
+        long found = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int symbol = (c < ASCII ? symbols[c] : -1);
+            // a character in no keyword means no keyword can be part-way matched
+            state = (symbol < 0 ? 0 : transitions[state][symbol]);
+            found |= outputs[state];
+        }
+        return found;
+    }
+}
@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import org.slf4j.Logger;
@@ -31,8 +33,12 @@ public class Owner {
     }
 
     public static List<Owner> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<Owner> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.OWNERS)) {
+            String text = page.getLineText(line);
             Matcher matcher = OWNERS_PATTERN.matcher(text);
             if (matcher.find()) {
                 return parseOwners(text);
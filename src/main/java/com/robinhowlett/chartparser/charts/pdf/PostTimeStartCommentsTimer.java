@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonInclude;
 
@@ -36,8 +38,12 @@ public class PostTimeStartCommentsTimer {
     }
 
     public static Optional<PostTimeStartCommentsTimer> parse(List<List<ChartCharacter>> sections) {
-        for (List<ChartCharacter> section : sections) {
-            String text = Chart.convertToText(section);
+        return parse(ChartPage.fromLines(sections));
+    }
+
+    public static Optional<PostTimeStartCommentsTimer> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.POST_TIME_START_COMMENTS_TIMER)) {
+            String text = page.getLineText(line);
             Matcher matcher = POST_START_TIMER_PATTERN.matcher(text);
             if (matcher.find()) {
                 String weather = matcher.group(1);
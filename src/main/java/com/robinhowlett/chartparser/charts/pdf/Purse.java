@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
@@ -43,10 +44,14 @@ public class Purse {
     private List<PurseEnhancement> enhancements = new ArrayList<>();
     private String valueOfRace;
 
-    public static Purse parse(final List<List<ChartCharacter>> lines) throws PurseParseException {
+    public static Purse parse(List<List<ChartCharacter>> lines) throws PurseParseException {
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static Purse parse(ChartPage page) throws PurseParseException {
         Purse purse = new Purse();
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (int line : page.getSectionLines(Section.PURSE)) {
+            String text = page.getLineText(line);
             purse = parsePurseText(text, purse);
         }
 
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.text.NumberFormat;
@@ -48,14 +49,22 @@ public class RaceConditions {
         this.raceTypeNameBlackTypeBreed = raceTypeNameBlackTypeBreed;
     }
 
-    // handles multi-line
     public static RaceConditions parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    // handles multi-line
+    public static RaceConditions parse(ChartPage page)
+            throws ChartParserException {
         boolean found = false;
         StringBuilder raceConditionsBuilder = new StringBuilder();
         String prefix = "";
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        // the conditions follow the race type, name, and breed
+        int start = page.findSectionLine(Section.RACE_TYPE_NAME_BLACK_TYPE_BREED,
+                text -> RACE_TYPE_NAME_GRADE_BREED.matcher(text).find());
+        for (int line = start; line < page.getLineCount(); line++) {
+            String text = page.getLineText(line);
             if (found) {
                 Matcher matcher = DIST_SURF_RECORD_PATTERN.matcher(text);
                 if (matcher.find() && DistanceSurfaceTrackRecord.isValidDistanceText(text)) {
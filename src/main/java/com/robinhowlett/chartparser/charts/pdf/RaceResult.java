@@ -565,12 +565,13 @@ public class RaceResult {
                     List<WinPlaceShowPayoff> winPlaceShowPayoffs =
                             payoffPools.getWinPlaceShowPayoffs();
 
+                    StarterIndex starterIndex = new StarterIndex(starters);
                     for (WinPlaceShowPayoff payoff : winPlaceShowPayoffs) {
-                        for (Starter starter : starters) {
-                            if (matchesProgramOrHorseName(payoff, starter)) {
-                                starter.setWinPlaceShowPayoff(payoff);
-                                break;
-                            }
+                        // by program number, falling back to the horse name
+                        Starter starter =
+                                starterIndex.findFirst(payoff.getProgram(), payoff.getHorse());
+                        if (starter != null) {
+                            starter.setWinPlaceShowPayoff(payoff);
                         }
                     }
                 }
@@ -578,13 +579,6 @@ public class RaceResult {
             return starters;
         }
 
-        // checks if the program numbers match, falling back to the horse name
-        boolean matchesProgramOrHorseName(WinPlaceShowPayoff payoff, Starter starter) {
-            return (payoff.getProgram() != null && payoff.getProgram().equals(starter.getProgram())
-                    || (payoff.getHorse() != null &&
-                    payoff.getHorse().equals(starter.getHorse().getName())));
-        }
-
         // calculates the Split - the time taken between fractionals e.g. if a Starter recorded a
         // first quarter time of 22 seconds, and a first half-mile time of 45 seconds, that would
         // be a 2 furlong split of 23 seconds
@@ -2,6 +2,7 @@ package com.robinhowlett.chartparser.charts.pdf;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
@@ -55,8 +56,13 @@ public class RaceTypeNameBlackTypeBreed {
 
     public static RaceTypeNameBlackTypeBreed parse(List<List<ChartCharacter>> lines)
             throws Breed.NoMatchingBreedException, RaceTypeNameOrBreedNotIdentifiable {
-        for (List<ChartCharacter> line : lines) {
-            String rawText = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static RaceTypeNameBlackTypeBreed parse(ChartPage page)
+            throws Breed.NoMatchingBreedException, RaceTypeNameOrBreedNotIdentifiable {
+        for (int line : page.getSectionLines(Section.RACE_TYPE_NAME_BLACK_TYPE_BREED)) {
+            String rawText = page.getLineText(line);
             Optional<RaceTypeNameBlackTypeBreed> raceTypeNameGradeBreed =
                     parseRaceTypeNameBlackTypeBreed(rawText);
             if (raceTypeNameGradeBreed.isPresent()) {
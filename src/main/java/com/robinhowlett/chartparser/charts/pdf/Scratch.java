@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 
 import org.slf4j.Logger;
@@ -35,8 +37,12 @@ public class Scratch {
     }
 
     public static List<Scratch> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<Scratch> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.SCRATCHED_HORSES)) {
+            String text = page.getLineText(line);
             Matcher matcher = SCRATCHED_HORSES.matcher(text);
             if (matcher.find()) {
                 return parseScratchedHorses(text);
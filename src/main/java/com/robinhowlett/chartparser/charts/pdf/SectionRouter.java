@@ -0,0 +1,105 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classifies each line of a {@link ChartPage} by the sections of the chart it may belong to, in a
+ * single pass over the text of the page using a {@link KeywordMatcher} of the literal text each
+ * section's pattern requires (e.g. "Trainers:|"). A section parser then only needs to test its
+ * own (candidate) lines against its patterns, rather than every line of the page
+ */
+public class SectionRouter {
+
+    /**
+     * The sections of a chart, and the text at least one of which must appear in a line for the
+     * line to be part of (or mark the start of) that section
+     */
+    public enum Section {
+        TRACK_RACE_DATE_RACE_NUMBER("Race"),
+        CANCELLATION("Cancelled", "CANCELLED"),
+        RACE_TYPE_NAME_BLACK_TYPE_BREED(" - Thoroughbred", " - Quarter Horse", " - Arabian",
+                " - Mixed"),
+        DISTANCE_SURFACE_TRACK_RECORD(" On The "),
+        PURSE("Purse: ", "Available Money: ", "Includes: ", "Plus: ", "Value of Race: "),
+        WIND_SPEED_DIRECTION("Wind Speed: "),
+        WEATHER_TRACK_CONDITION("Weather: "),
+        POST_TIME_START_COMMENTS_TIMER("Off at: "),
+        RUNNING_LINES("Last Raced|Pgm", "Run-Up:"),
+        TOTAL_WPS_POOL("Total WPS Pool: $"),
+        PAST_PERFORMANCE_RUNNING_LINE_PREVIEW("Past Performance Running Line Preview"),
+        TRAINERS("Trainers:|"),
+        OWNERS("Owners:|"),
+        WINNER("Winner:|"),
+        BREEDER("Breeder:|"),
+        SCRATCHED_HORSES("Scratched Horse(s):"),
+        CLAIMED_HORSES(" Claimed Horse(s)"),
+        CLAIMING_PRICES("Claiming Prices:"),
+        DISQUALIFICATIONS("Disqualification(s):"),
+        DEAD_HEATS("Dead Heats:"),
+        FOOTNOTES("Footnotes");
+
+        private final String[] keywords;
+
+        Section(String... keywords) {
+            this.keywords = keywords;
+        }
+
+        String[] getKeywords() {
+            return keywords.clone();
+        }
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+    private static final KeywordMatcher MATCHER = createMatcher();
+
+    private static final int[] NO_LINES = new int[0];
+
+    // the (ascending) indices of the lines of each section
+    private final int[][] sectionLines = new int[SECTIONS.length][];
+
+    public SectionRouter(ChartPage page) {
+        int[] counts = new int[SECTIONS.length];
+        long[] lineSections = new long[page.getLineCount()];
+        for (int line = 0; line < page.getLineCount(); line++) {
+            long sections = MATCHER.match(page.getLineText(line));
+            lineSections[line] = sections;
+            while (sections != 0) {
+                counts[Long.numberOfTrailingZeros(sections)]++;
+                sections &= sections - 1;
+            }
+        }
+
+        for (Section section : SECTIONS) {
+            int count = counts[section.ordinal()];
+            sectionLines[section.ordinal()] = (count == 0 ? NO_LINES : new int[count]);
+        }
+        Arrays.fill(counts, 0);
+        for (int line = 0; line < lineSections.length; line++) {
+            long sections = lineSections[line];
+            while (sections != 0) {
+                int section = Long.numberOfTrailingZeros(sections);
+                sectionLines[section][counts[section]++] = line;
+                sections &= sections - 1;
+            }
+        }
+    }
+
+    private static KeywordMatcher createMatcher() {
+        Map<String, Long> keywordMasks = new HashMap<>();
+        for (Section section : SECTIONS) {
+            for (String keyword : section.keywords) {
+                keywordMasks.merge(keyword, 1L << section.ordinal(), (a, b) -> a | b);
+            }
+        }
+        return new KeywordMatcher(keywordMasks);
+    }
+
+    /**
+     * The indices of the lines that may be part of the section, in ascending order
+     */
+    public int[] getLines(Section section) {
+        return sectionLines[section.ordinal()].clone();
+    }
+}
@@ -14,6 +14,8 @@ import com.robinhowlett.chartparser.charts.pdf.running_line.MedicationEquipment;
 import com.robinhowlett.chartparser.charts.pdf.running_line.Odds;
 import com.robinhowlett.chartparser.charts.pdf.running_line.PastPerformanceRunningLinePreview;
 import com.robinhowlett.chartparser.charts.pdf.running_line.PointOfCallPosition;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumn;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineRow;
 import com.robinhowlett.chartparser.charts.pdf.running_line.Weight;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.WinPlaceShowPayoffPool
         .WinPlaceShowPayoff;
@@ -33,6 +35,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -49,6 +52,10 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 public class Starter {
     private static final Logger LOGGER = LoggerFactory.getLogger(Starter.class);
 
+    // the parser of each running line column, other than the points of call
+    private static final Map<RunningLineColumn, ColumnParser> COLUMN_PARSERS =
+            createColumnParsers();
+
     private final LastRaced lastRaced;
     private final String program;
     private final Horse horse;
@@ -372,68 +379,30 @@ public class Starter {
             Map<String, List<ChartCharacter>> runningLineCharactersByColumn,
             LocalDate raceDate, Breed breed, RaceDistance raceDistance, TrackService trackService,
             PointsOfCallService pointsOfCallService) throws ChartParserException {
+        return parseRunningLineData(RunningLineRow.of(runningLineCharactersByColumn), raceDate,
+                breed, raceDistance, trackService, pointsOfCallService);
+    }
+
+    /**
+     * As {@link #parseRunningLineData(Map, LocalDate, Breed, RaceDistance, TrackService,
+     * PointsOfCallService)}, dispatching each column to its parser by its {@link
+     * RunningLineColumn}
+     */
+    public static Starter parseRunningLineData(RunningLineRow runningLineRow,
+            LocalDate raceDate, Breed breed, RaceDistance raceDistance, TrackService trackService,
+            PointsOfCallService pointsOfCallService) throws ChartParserException {
         Builder builder = new Builder();
 
         List<List<ChartCharacter>> pointsOfCall = new ArrayList<>();
 
-        for (String column : runningLineCharactersByColumn.keySet()) {
-            List<ChartCharacter> chartCharacters = runningLineCharactersByColumn.get(column);
-            switch (column) {
-                case "LastRaced":
-                    builder.lastRaced(LastRaced.parse(chartCharacters, raceDate, trackService));
-                    break;
-                case "Pgm":
-                    builder.program(Chart.convertToText(chartCharacters));
-                    break;
-                case "HorseName(Jockey)":
-                    builder.horseAndJockey(HorseJockey.parse(chartCharacters));
-                    break;
-                case "Wgt":
-                    builder.weight(Weight.parse(chartCharacters));
-                    break;
-                case "PP":
-                    String postPositionText = Chart.convertToText(chartCharacters);
-                    if (!postPositionText.isEmpty()) {
-                        if (postPositionText.contains("|") || postPositionText.contains(" ")) {
-                            String[] split = postPositionText.split("\\||\\s");
-                            if (split.length == 2) {
-                                LOGGER.warn(String.format("Detected PP affected by M/E in text: " +
-                                                "%s; extracting the PP to be %s", postPositionText,
-                                        split[1]));
-                                postPositionText = split[1];
-                            }
-                        }
-                        builder.postPosition(Integer.parseInt(postPositionText));
-                    }
-                    break;
-                case "Odds":
-                    builder.odds(Odds.parse(chartCharacters));
-                    break;
-                case "Ind.Time":
-                    builder.individualTimeMillis(
-                            IndividualTime.parse(Chart.convertToText(chartCharacters)));
-                    break;
-                case "Sp.In.":
-                    String speedIndexText = Chart.convertToText(chartCharacters);
-                    if (!speedIndexText.isEmpty()) {
-                        int speedIndex = 0;
-                        try {
-                            speedIndex = Integer.parseInt(speedIndexText);
-                        } catch (NumberFormatException e) {
-
-                        }
-                        builder.speedIndex(speedIndex);
-                    }
-                    break;
-                case "M/E":
-                    builder.medicationAndEquipment(MedicationEquipment.parse(chartCharacters));
-                    break;
-                case "Comments":
-                    builder.comments(Chart.convertToText(chartCharacters));
-                    break;
-                default:
-                    pointsOfCall.add(chartCharacters);
-                    break;
+        for (int i = 0; i < runningLineRow.size(); i++) {
+            List<ChartCharacter> chartCharacters = runningLineRow.getCharacters(i);
+            RunningLineColumn column = runningLineRow.getColumn(i);
+            if (column == RunningLineColumn.POINT_OF_CALL) {
+                pointsOfCall.add(chartCharacters);
+            } else {
+                COLUMN_PARSERS.get(column).parse(builder, chartCharacters, raceDate,
+                        trackService);
             }
         }
 
@@ -489,6 +458,81 @@ public class Starter {
         return builder.build();
     }
 
+    private static Map<RunningLineColumn, ColumnParser> createColumnParsers() {
+        Map<RunningLineColumn, ColumnParser> columnParsers = new EnumMap<>(RunningLineColumn.class);
+        columnParsers.put(RunningLineColumn.LAST_RACED,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.lastRaced(LastRaced.parse(chartCharacters, raceDate,
+                                trackService)));
+        columnParsers.put(RunningLineColumn.PROGRAM,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.program(Chart.convertToText(chartCharacters)));
+        columnParsers.put(RunningLineColumn.HORSE_NAME_JOCKEY,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.horseAndJockey(HorseJockey.parse(chartCharacters)));
+        columnParsers.put(RunningLineColumn.WEIGHT,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.weight(Weight.parse(chartCharacters)));
+        columnParsers.put(RunningLineColumn.POST_POSITION,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        parsePostPosition(builder, chartCharacters));
+        columnParsers.put(RunningLineColumn.ODDS,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.odds(Odds.parse(chartCharacters)));
+        columnParsers.put(RunningLineColumn.INDIVIDUAL_TIME,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.individualTimeMillis(
+                                IndividualTime.parse(Chart.convertToText(chartCharacters))));
+        columnParsers.put(RunningLineColumn.SPEED_INDEX,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        parseSpeedIndex(builder, chartCharacters));
+        columnParsers.put(RunningLineColumn.MEDICATION_EQUIPMENT,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.medicationAndEquipment(
+                                MedicationEquipment.parse(chartCharacters)));
+        columnParsers.put(RunningLineColumn.COMMENTS,
+                (builder, chartCharacters, raceDate, trackService) ->
+                        builder.comments(Chart.convertToText(chartCharacters)));
+        return columnParsers;
+    }
+
+    private static void parsePostPosition(Builder builder, List<ChartCharacter> chartCharacters) {
+        String postPositionText = Chart.convertToText(chartCharacters);
+        if (!postPositionText.isEmpty()) {
+            if (postPositionText.contains("|") || postPositionText.contains(" ")) {
+                String[] split = postPositionText.split("\\||\\s");
+                if (split.length == 2) {
+                    LOGGER.warn(String.format("Detected PP affected by M/E in text: " +
+                            "%s; extracting the PP to be %s", postPositionText, split[1]));
+                    postPositionText = split[1];
+                }
+            }
+            builder.postPosition(Integer.parseInt(postPositionText));
+        }
+    }
+
+    private static void parseSpeedIndex(Builder builder, List<ChartCharacter> chartCharacters) {
+        String speedIndexText = Chart.convertToText(chartCharacters);
+        if (!speedIndexText.isEmpty()) {
+            int speedIndex = 0;
+            try {
+                speedIndex = Integer.parseInt(speedIndexText);
+            } catch (NumberFormatException e) {
+
+            }
+            builder.speedIndex(speedIndex);
+        }
+    }
+
+    /**
+     * Parses the characters of a running line column into the {@link Builder}
+     */
+    @FunctionalInterface
+    private interface ColumnParser {
+        void parse(Builder builder, List<ChartCharacter> chartCharacters, LocalDate raceDate,
+                TrackService trackService) throws ChartParserException;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,167 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the {@link Starter}s of a race by program number and by horse name, so the other
+ * sections of a chart (winners, claims, trainers, owners, disqualifications, payoffs etc.) can be
+ * joined to the starters they refer to without comparing against every starter in turn. Lookups
+ * return starters in the order of the race's starters, so finding the first match gives the same
+ * starter as a scan of the list would.
+ * <p>
+ * Program numbers and horse names are matched exactly, as they are elsewhere, and starters without
+ * either are not indexed by it. Exact matching was chosen over looking horses up by a normalized
+ * name (ignoring case, punctuation etc.): every section of a chart prints a horse's name as the
+ * starters do, and normalizing could join a section to a different horse with a similar name
+ * (e.g. one with a country suffix such as "(GB)"). The index does not see changes to a starter's
+ * program or horse after it is created
+ * <p>
+ * Before the index, the horse name fallbacks of the claimed horse, claiming price,
+ * disqualification and win/place/show payoff joins compared a {@link Horse} with a name, so never
+ * matched; those sections were joined by program number only (and claimed horses, having no
+ * program number, never were). They now fall back to the horse name
+ */
+public class StarterIndex {
+    private final List<Starter> starters;
+    // the position of each starter in the list (by identity, as Starter#equals is deep)
+    private final Map<Starter, Integer> positions;
+    private final Map<String, List<Starter>> startersByProgram = new HashMap<>();
+    private final Map<String, List<Starter>> startersByHorseName = new HashMap<>();
+
+    public StarterIndex(List<Starter> starters) {
+        this.starters = starters;
+        this.positions = new IdentityHashMap<>(starters.size());
+        for (int i = 0; i < starters.size(); i++) {
+            Starter starter = starters.get(i);
+            positions.putIfAbsent(starter, i);
+            if (starter.getProgram() != null) {
+                startersByProgram.computeIfAbsent(starter.getProgram(), key -> new ArrayList<>(1))
+                        .add(starter);
+            }
+            String horseName = getHorseName(starter);
+            if (horseName != null) {
+                startersByHorseName.computeIfAbsent(horseName, key -> new ArrayList<>(1))
+                        .add(starter);
+            }
+        }
+    }
+
+    private static String getHorseName(Starter starter) {
+        return getName(starter.getHorse());
+    }
+
+    private static String getName(Horse horse) {
+        return (horse != null ? horse.getName() : null);
+    }
+
+    public List<Starter> getStarters() {
+        return starters;
+    }
+
+    /**
+     * The first starter with the program number (or null if there is none)
+     */
+    public Starter findFirstByProgram(String program) {
+        return first(findAllByProgram(program));
+    }
+
+    /**
+     * The starters with the program number
+     */
+    public List<Starter> findAllByProgram(String program) {
+        return lookup(startersByProgram, program);
+    }
+
+    /**
+     * The first starter with the horse name (or null if there is none)
+     */
+    public Starter findFirstByHorseName(String horseName) {
+        return first(findAllByHorseName(horseName));
+    }
+
+    /**
+     * The starters with the horse name
+     */
+    public List<Starter> findAllByHorseName(String horseName) {
+        return lookup(startersByHorseName, horseName);
+    }
+
+    /**
+     * The first starter with the horse's name (or null if there is none)
+     */
+    public Starter findFirstByHorse(Horse horse) {
+        return findFirstByHorseName(getName(horse));
+    }
+
+    /**
+     * The first starter with the program number or, failing that, the horse name (or null if there
+     * is none); i.e. the first starter that matches either
+     */
+    public Starter findFirst(String program, String horseName) {
+        Starter byProgram = findFirstByProgram(program);
+        Starter byHorseName = findFirstByHorseName(horseName);
+        if (byProgram == null || byHorseName == null) {
+            return (byProgram != null ? byProgram : byHorseName);
+        }
+        return (positions.get(byProgram) <= positions.get(byHorseName) ? byProgram : byHorseName);
+    }
+
+    /**
+     * As {@link #findFirst(String, String)}, by the horse's name
+     */
+    public Starter findFirst(String program, Horse horse) {
+        return findFirst(program, getName(horse));
+    }
+
+    /**
+     * The starters with the program number or the horse name, in the order of the race's starters
+     */
+    public List<Starter> findAll(String program, String horseName) {
+        List<Starter> byProgram = findAllByProgram(program);
+        List<Starter> byHorseName = findAllByHorseName(horseName);
+        if (byProgram.isEmpty() || byHorseName.isEmpty()) {
+            return (byProgram.isEmpty() ? byHorseName : byProgram);
+        }
+
+        List<Starter> matches = new ArrayList<>(byProgram.size() + byHorseName.size());
+        int i = 0;
+        int j = 0;
+        while (i < byProgram.size() || j < byHorseName.size()) {
+            if (j == byHorseName.size()) {
+                matches.add(byProgram.get(i++));
+            } else if (i == byProgram.size()) {
+                matches.add(byHorseName.get(j++));
+            } else if (byProgram.get(i) == byHorseName.get(j)) {
+                matches.add(byProgram.get(i++));
+                j++;
+            } else if (positions.get(byProgram.get(i)) < positions.get(byHorseName.get(j))) {
+                matches.add(byProgram.get(i++));
+            } else {
+                matches.add(byHorseName.get(j++));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * As {@link #findAll(String, String)}, by the horse's name
+     */
+    public List<Starter> findAll(String program, Horse horse) {
+        return findAll(program, getName(horse));
+    }
+
+    private static List<Starter> lookup(Map<String, List<Starter>> startersByKey, String key) {
+        List<Starter> matches = (key != null ? startersByKey.get(key) : null);
+        return (matches != null ? Collections.unmodifiableList(matches) :
+                Collections.emptyList());
+    }
+
+    private static Starter first(List<Starter> matches) {
+        return (matches.isEmpty() ? null : matches.get(0));
+    }
+}
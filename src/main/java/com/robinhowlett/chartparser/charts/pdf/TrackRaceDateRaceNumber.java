@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.time.LocalDate;
@@ -31,14 +32,19 @@ public class TrackRaceDateRaceNumber {
         this.raceNumber = raceNumber;
     }
 
-    public static TrackRaceDateRaceNumber parse(final List<List<ChartCharacter>> lines)
+    public static TrackRaceDateRaceNumber parse(List<List<ChartCharacter>> lines)
             throws NoLinesToParse, InvalidRaceException {
-        if (lines == null || lines.isEmpty()) {
+        return parse(lines != null ? ChartPage.fromLines(lines) : null);
+    }
+
+    public static TrackRaceDateRaceNumber parse(ChartPage page)
+            throws NoLinesToParse, InvalidRaceException {
+        if (page == null || page.size() == 0) {
             throw new NoLinesToParse();
         }
 
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (int line : page.getSectionLines(Section.TRACK_RACE_DATE_RACE_NUMBER)) {
+            String text = page.getLineText(line);
             Optional<TrackRaceDateRaceNumber> trackRaceDateRaceNumber =
                     buildTrackRaceDateRaceNumber(text);
             if (trackRaceDateRaceNumber.isPresent()) {
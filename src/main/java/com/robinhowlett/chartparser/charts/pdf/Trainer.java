@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import org.slf4j.Logger;
@@ -36,8 +38,12 @@ public class Trainer {
     }
 
     public static List<Trainer> parse(List<List<ChartCharacter>> lines) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<Trainer> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.TRAINERS)) {
+            String text = page.getLineText(line);
             Matcher matcher = TRAINERS_PATTERN.matcher(text);
             if (matcher.find()) {
                 return parseTrainers(text);
@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import java.util.List;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -21,8 +23,12 @@ public class WeatherTrackCondition {
     }
 
     public static Optional<WeatherTrackCondition> parse(List<List<ChartCharacter>> sections) {
-        for (List<ChartCharacter> section : sections) {
-            String text = Chart.convertToText(section);
+        return parse(ChartPage.fromLines(sections));
+    }
+
+    public static Optional<WeatherTrackCondition> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.WEATHER_TRACK_CONDITION)) {
+            String text = page.getLineText(line);
             Matcher matcher = WEATHER_TRACK_PATTERN.matcher(text);
             if (matcher.find()) {
                 String weather = matcher.group(1);
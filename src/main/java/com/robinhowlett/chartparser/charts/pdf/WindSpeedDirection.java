@@ -1,5 +1,7 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
 
 import java.util.List;
@@ -24,8 +26,12 @@ public class WindSpeedDirection {
     }
 
     public static Optional<WindSpeedDirection> parse(List<List<ChartCharacter>> sections) {
-        for (List<ChartCharacter> section : sections) {
-            String text = Chart.convertToText(section);
+        return parse(ChartPage.fromLines(sections));
+    }
+
+    public static Optional<WindSpeedDirection> parse(ChartPage page) {
+        for (int line : page.getSectionLines(Section.WIND_SPEED_DIRECTION)) {
+            String text = page.getLineText(line);
             Matcher matcher = WIND_SPEED_DIRECTION_PATTERN.matcher(text);
             if (matcher.find()) {
                 Integer speed = Integer.parseInt(matcher.group(1));
@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import org.slf4j.Logger;
@@ -53,10 +54,15 @@ public class Winner {
 
     public static List<Winner> parse(List<List<ChartCharacter>> lines)
             throws NoWinnersDeclaredException {
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static List<Winner> parse(ChartPage page)
+            throws NoWinnersDeclaredException {
         List<Winner> winners = new ArrayList<>();
         // find the winner(s)
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (int line : page.getSectionLines(Section.WINNER)) {
+            String text = page.getLineText(line);
             text = text.replaceAll(System.lineSeparator(), " ");
 
             Optional<Winner> winner = parseWinner(text);
@@ -67,7 +73,7 @@ public class Winner {
 
         if (!winners.isEmpty()) {
             // find the winning breeder(s) and associate with the winner(s)
-            winners = findAndAssociateWinningBreeder(lines, winners);
+            winners = findAndAssociateWinningBreeder(page, winners);
         } else {
             throw new NoWinnersDeclaredException();
         }
@@ -77,10 +83,10 @@ public class Winner {
 
     // the winner's breeder's details are listed immediately after the winner (this handles dead
     // heats)
-    static List<Winner> findAndAssociateWinningBreeder(List<List<ChartCharacter>> lines,
+    static List<Winner> findAndAssociateWinningBreeder(ChartPage page,
             List<Winner> winners) {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (int line : page.getSectionLines(Section.BREEDER)) {
+            String text = page.getLineText(line);
             text = text.replaceAll(System.lineSeparator(), " ");
 
             Optional<String> breeder = parseBreeder(text);
@@ -2,7 +2,10 @@ package com.robinhowlett.chartparser.charts.pdf.running_line;
 
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.pdf.StarterIndex;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall.RelativePosition;
 
@@ -10,7 +13,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,7 +27,22 @@ public class PastPerformanceRunningLinePreview {
 
     public static List<Starter> parse(List<List<ChartCharacter>> lines, List<Starter> starters)
             throws ChartParserException {
-        List<ChartCharacter> ppRunningLinePreview = getRunningLinePreview(lines);
+        return parse(ChartPage.fromLines(lines), starters);
+    }
+
+    public static List<Starter> parse(ChartPage page, List<Starter> starters)
+            throws ChartParserException {
+        return parse(page, new StarterIndex(starters));
+    }
+
+    /**
+     * Updates the indexed starters with their total lengths behind at each point of call, and
+     * returns them
+     */
+    public static List<Starter> parse(ChartPage page, StarterIndex starterIndex)
+            throws ChartParserException {
+        List<Starter> starters = starterIndex.getStarters();
+        List<ChartCharacter> ppRunningLinePreview = getRunningLinePreview(page);
         List<List<ChartCharacter>> runningLinePreviews = separateIntoLines(ppRunningLinePreview);
         List<ChartCharacter> headerCharacters = runningLinePreviews.get(1);
 
@@ -36,18 +53,19 @@ public class PastPerformanceRunningLinePreview {
         headerColumns = RunningLineHeader.populateHeaderColumnsWithInRaceRunningLine(
                 headerCharacters, headerColumns);
 
-        TreeSet<RunningLineColumnIndex> runningLineColumnIndices =
-                RunningLineHeader.createRunningLineColumnIndices(headerColumns);
+        RunningLineColumns.Grouping runningLineColumns = new RunningLineColumns(
+                RunningLineHeader.createRunningLineColumnIndices(headerColumns)).newGrouping();
 
         runningLinePreviews = runningLinePreviews.subList(2, runningLinePreviews.size());
 
         for (List<ChartCharacter> runningLinePreview : runningLinePreviews) {
             Map<String, List<ChartCharacter>> runningLineCharactersByColumn =
-                    RunningLine.groupRunningLineCharactersByColumn(runningLineColumnIndices,
-                            runningLinePreview);
+                    runningLineColumns.group(runningLinePreview);
 
             String program = Chart.convertToText(runningLineCharactersByColumn.get("Pgm"));
             String horseName = Chart.convertToText(runningLineCharactersByColumn.get("HorseName"));
+            // the same starters for every column
+            List<Starter> matchingStarters = starterIndex.findAll(program, horseName);
 
             for (String column : runningLineCharactersByColumn.keySet()) {
                 List<ChartCharacter> chartCharacters = runningLineCharactersByColumn.get(column);
@@ -58,11 +76,8 @@ public class PastPerformanceRunningLinePreview {
                     default:
                         RelativePosition relativePosition =
                                 PointOfCallPosition.parse(chartCharacters);
-                        for (Starter starter : starters) {
-                            if (starter.matchesProgramOrName(program, horseName)) {
-                                starter.setTotalLengthsBehindAtPointOfCall(column,
-                                        relativePosition);
-                            }
+                        for (Starter starter : matchingStarters) {
+                            starter.setTotalLengthsBehindAtPointOfCall(column, relativePosition);
                         }
                         break;
                 }
@@ -73,14 +88,18 @@ public class PastPerformanceRunningLinePreview {
     }
 
     static List<ChartCharacter> getRunningLinePreview(List<List<ChartCharacter>> lines) {
+        return getRunningLinePreview(ChartPage.fromLines(lines));
+    }
+
+    static List<ChartCharacter> getRunningLinePreview(ChartPage page) {
         List<ChartCharacter> ppRunningLinePreview = new ArrayList<>();
 
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        for (int line : page.getSectionLines(Section.PAST_PERFORMANCE_RUNNING_LINE_PREVIEW)) {
+            String text = page.getLineText(line);
 
             Matcher matcher = PP_RUNNING_LINE_PREVIEW.matcher(text);
             if (matcher.find()) {
-                ppRunningLinePreview = line;
+                ppRunningLinePreview = page.getLine(line);
                 break;
             }
         }
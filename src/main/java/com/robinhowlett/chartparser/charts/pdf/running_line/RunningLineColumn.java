@@ -0,0 +1,54 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The columns of a running line grid, by their header text. Every column whose header is not one
+ * of the fixed ones (e.g. "Start", "1/4", "Str", "Fin") is a {@link #POINT_OF_CALL}; which points
+ * of call there are depends on the race distance
+ */
+public enum RunningLineColumn {
+    LAST_RACED("LastRaced"),
+    PROGRAM("Pgm"),
+    HORSE_NAME_JOCKEY("HorseName(Jockey)"),
+    WEIGHT("Wgt"),
+    MEDICATION_EQUIPMENT("M/E"),
+    POST_POSITION("PP"),
+    ODDS("Odds"),
+    INDIVIDUAL_TIME("Ind.Time"),
+    SPEED_INDEX("Sp.In."),
+    COMMENTS("Comments"),
+    POINT_OF_CALL(null);
+
+    private static final Map<String, RunningLineColumn> COLUMNS_BY_HEADER = new HashMap<>();
+
+    static {
+        for (RunningLineColumn column : values()) {
+            if (column.header != null) {
+                COLUMNS_BY_HEADER.put(column.header, column);
+            }
+        }
+    }
+
+    private final String header;
+
+    RunningLineColumn(String header) {
+        this.header = header;
+    }
+
+    /**
+     * The column with the header text, or {@link #POINT_OF_CALL} if it is not one of the fixed
+     * columns
+     */
+    public static RunningLineColumn forHeader(String header) {
+        return COLUMNS_BY_HEADER.getOrDefault(header, POINT_OF_CALL);
+    }
+
+    /**
+     * The header text of a fixed column (or null for a point of call)
+     */
+    public String getHeader() {
+        return header;
+    }
+}
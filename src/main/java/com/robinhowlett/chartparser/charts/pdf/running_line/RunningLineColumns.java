@@ -0,0 +1,181 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The layout of the columns of a running line grid: the sorted xDirAdj values at which each header
+ * column starts, and the header (and {@link RunningLineColumn}) of each column. A {@link
+ * ChartCharacter} belongs to the column with the greatest start not exceeding its xDirAdj, found
+ * by a binary search rather than with {@link TreeSet#floor(Object)} and a {@link
+ * RunningLineColumnIndex} probe per character
+ */
+public class RunningLineColumns {
+
+    private final double[] starts;
+    private final String[] columnHeaders;
+    private final RunningLineColumn[] columns;
+    // the first column with the same header as each column (usually the column itself)
+    private final int[] firstWithHeader;
+
+    /**
+     * The layout of the column indices; where more than one starts at the same xDirAdj, only the
+     * first is used (as with a {@link TreeSet} of them)
+     */
+    public RunningLineColumns(Collection<RunningLineColumnIndex> runningLineColumnIndices) {
+        TreeSet<RunningLineColumnIndex> sorted =
+                new TreeSet<>(new RunningLineHeader.RunningLineHeaderComparator());
+        sorted.addAll(runningLineColumnIndices);
+
+        starts = new double[sorted.size()];
+        columnHeaders = new String[sorted.size()];
+        columns = new RunningLineColumn[sorted.size()];
+        firstWithHeader = new int[sorted.size()];
+        int column = 0;
+        for (RunningLineColumnIndex columnIndex : sorted) {
+            starts[column] = columnIndex.getxDirAdj();
+            columnHeaders[column] = columnIndex.getColumnHeader();
+            columns[column] = RunningLineColumn.forHeader(columnIndex.getColumnHeader());
+            firstWithHeader[column] = column;
+            for (int previous = 0; previous < column; previous++) {
+                if (Objects.equals(columnHeaders[previous], columnHeaders[column])) {
+                    firstWithHeader[column] = previous;
+                    break;
+                }
+            }
+            column++;
+        }
+    }
+
+    /**
+     * The column the xDirAdj value belongs to (or -1 if it is before the first column)
+     */
+    public int getColumn(double xDirAdj) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] > xDirAdj) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+
+    public String getColumnHeader(int column) {
+        return columnHeaders[column];
+    }
+
+    public RunningLineColumn getRunningLineColumn(int column) {
+        return columns[column];
+    }
+
+    public int getColumnCount() {
+        return starts.length;
+    }
+
+    /**
+     * Working storage to group the characters of running lines with this layout, which can be
+     * reused for each running line (by one thread at a time)
+     */
+    public Grouping newGrouping() {
+        return new Grouping();
+    }
+
+    /**
+     * Groups the characters of a running line by column, reusing the per-character column and
+     * per-column count arrays from one running line to the next
+     */
+    public class Grouping {
+        private int[] characterColumns = new int[64];
+        private final int[] columnCounts = new int[starts.length];
+        // the columns in the order their first character appears in the running line
+        private final int[] columnOrder = new int[starts.length];
+        @SuppressWarnings("unchecked")
+        private final List<ChartCharacter>[] columnCharacters = new List[starts.length];
+
+        private Grouping() {
+        }
+
+        /**
+         * For each character in the running line, add it to a list assigned to the appropriate
+         * header column, in the order the columns first appear in the running line
+         */
+        public Map<String, List<ChartCharacter>> group(List<ChartCharacter> runningLine) {
+            return groupRow(runningLine).toMap();
+        }
+
+        /**
+         * As {@link #group(List)}, as a {@link RunningLineRow} of the columns
+         */
+        @SuppressWarnings("unchecked")
+        public RunningLineRow groupRow(List<ChartCharacter> runningLine) {
+            int size = runningLine.size();
+            if (characterColumns.length < size) {
+                characterColumns = new int[Math.max(size, characterColumns.length * 2)];
+            }
+
+            int rowColumns = 0;
+            for (int i = 0; i < size; i++) {
+                ChartCharacter chartCharacter = runningLine.get(i);
+                int column = getColumn(chartCharacter.getxDirAdj());
+                if (column < 0) {
+                    reset(rowColumns);
+                    throw new IllegalArgumentException(String.format("%s is before the first " +
+                            "running line column", chartCharacter));
+                }
+                if (columnCounts[column]++ == 0) {
+                    columnOrder[rowColumns++] = column;
+                }
+                characterColumns[i] = column;
+            }
+
+            String[] rowHeaders = new String[rowColumns];
+            RunningLineColumn[] rowRunningLineColumns = new RunningLineColumn[rowColumns];
+            List<ChartCharacter>[] rowCharacters = new List[rowColumns];
+            int entries = 0;
+            for (int i = 0; i < rowColumns; i++) {
+                int column = columnOrder[i];
+                // columns with the same header share a list
+                List<ChartCharacter> chartCharacters = columnCharacters[firstWithHeader[column]];
+                if (chartCharacters == null) {
+                    chartCharacters = new ArrayList<>(columnCounts[column]);
+                    columnCharacters[firstWithHeader[column]] = chartCharacters;
+                    rowHeaders[entries] = columnHeaders[column];
+                    rowRunningLineColumns[entries] = columns[column];
+                    rowCharacters[entries++] = chartCharacters;
+                }
+                columnCharacters[column] = chartCharacters;
+            }
+            for (int i = 0; i < size; i++) {
+                columnCharacters[characterColumns[i]].add(runningLine.get(i));
+            }
+
+            reset(rowColumns);
+            if (entries < rowColumns) {
+                rowHeaders = Arrays.copyOf(rowHeaders, entries);
+                rowRunningLineColumns = Arrays.copyOf(rowRunningLineColumns, entries);
+                rowCharacters = Arrays.copyOf(rowCharacters, entries);
+            }
+            return new RunningLineRow(rowHeaders, rowRunningLineColumns, rowCharacters);
+        }
+
+        private void reset(int rowColumns) {
+            for (int i = 0; i < rowColumns; i++) {
+                int column = columnOrder[i];
+                columnCounts[column] = 0;
+                columnCharacters[column] = null;
+                columnCharacters[firstWithHeader[column]] = null;
+            }
+        }
+    }
+}
@@ -79,7 +79,7 @@ public class RunningLineHeader {
             // ...it matches one of the known header column names
             for (String headerColumnName : headerColumnNames) {
                 // need to do this as tab is inconsistent between Wgt and M/E
-                if (sb.toString().equals(headerColumnName)) {
+                if (headerColumnName.contentEquals(sb)) {
                     // "Pgm" values are right-aligned but the column is centered, therefore
                     // the first value may be to the left of the "P"; allow up to, but not
                     // including, the width of one character for indexing
@@ -117,8 +117,7 @@ public class RunningLineHeader {
         RunningLineHeaderSuffix runningLineHeaderSuffix =
                 identifyHeaderSuffixCharactersForRegistry(runningLineHeader);
 
-        String[] suffixColumns = runningLineHeaderSuffix.getHeaderSuffix()
-                .split("(?=\\p{Lu})(?!Time|In\\.)");
+        String[] suffixColumns = runningLineHeaderSuffix.getHeaderSuffixColumns();
 
         for (ChartCharacter character : runningLineHeaderSuffix.getHeaderSuffixCharacters()) {
             if (sb == null) {
@@ -127,7 +126,7 @@ public class RunningLineHeader {
             }
             sb.append(character.getUnicode());
             for (String column : suffixColumns) {
-                if (sb.toString().equals(column)) {
+                if (column.contentEquals(sb)) {
                     // "Odds" is right-aligned so the first character can be before
                     // the x-axis; subtract from the xDirAdj to try to account for this.
                     // 3.892 is the normal value of a character in the "Odds" column, so do less
@@ -166,7 +165,7 @@ public class RunningLineHeader {
             headerSuffixCharacters.add(line);
             sb.append(line.getUnicode());
             String reversed = new StringBuffer(sb.toString()).reverse().toString();
-            for (String ending : RunningLineHeaderSuffix.SUFFIXES) {
+            for (String ending : RunningLineHeaderSuffix.getSuffixes()) {
                 if (reversed.equals(ending)) {
                     headerSuffix = ending;
                     found = true;
@@ -2,15 +2,31 @@ package com.robinhowlett.chartparser.charts.pdf.running_line;
 
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines the valid suffixes and stores the suffix String and the {@link ChartCharacter}s detected
  */
 public class RunningLineHeaderSuffix {
-    // the list of valid header-columns-as-text suffixes to match against
-    public static String[] SUFFIXES = new String[]{"FinOddsComments",
-            "FinOddsInd.TimeSp.In.Comments", "FinComments", "FinInd.TimeSp.In.Comments"};
+    // the list of valid header-columns-as-text suffixes to match against: TB/Arabian and QH
+    // (with individual times and speed indices) races with betting, then TB/Arabian and QH races
+    // without betting
+    private static final List<String> SUFFIXES = Collections.unmodifiableList(Arrays.asList(
+            "FinOddsComments", "FinOddsInd.TimeSp.In.Comments", "FinComments",
+            "FinInd.TimeSp.In.Comments"));
+
+    // the column headers of each suffix e.g. "Fin", "Odds", "Comments"
+    private static final Map<String, String[]> SUFFIX_COLUMNS = new HashMap<>();
+
+    static {
+        for (String suffix : SUFFIXES) {
+            SUFFIX_COLUMNS.put(suffix, suffix.split("(?=\\p{Lu})(?!Time|In\\.)"));
+        }
+    }
 
     private String headerSuffix;
     private List<ChartCharacter> headerSuffixCharacters;
@@ -21,6 +37,13 @@ public class RunningLineHeaderSuffix {
         this.headerSuffixCharacters = headerSuffixCharacters;
     }
 
+    /**
+     * The valid header-columns-as-text suffixes, as an unmodifiable list
+     */
+    public static List<String> getSuffixes() {
+        return SUFFIXES;
+    }
+
     public String getHeaderSuffix() {
         return headerSuffix;
     }
@@ -29,6 +52,14 @@ public class RunningLineHeaderSuffix {
         return headerSuffixCharacters;
     }
 
+    /**
+     * The column headers the suffix is made up of, in order
+     */
+    public String[] getHeaderSuffixColumns() {
+        String[] columns = SUFFIX_COLUMNS.get(headerSuffix);
+        return (columns != null ? columns.clone() : new String[]{headerSuffix});
+    }
+
     @Override
     public String toString() {
         return "RunningLineHeaderSuffix{" +
@@ -0,0 +1,123 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import com.robinhowlett.chartparser.charts.pdf.Chart;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the {@link RunningLineColumns} layout of each running line header seen, keyed by a
+ * fingerprint of the header's characters: their glyphs, and their xDirAdj and widthDirAdj values
+ * as integer thousandths (rounded by {@link Chart#toThousandths(double)}, as the pages are). Most
+ * races of the same breed and points of call share a header, so those after the first skip the
+ * header analysis of {@link RunningLineHeader#createIndexOfRunningLineColumns(List)} entirely. The
+ * layouts are immutable and shared by every race with the same header; headers that cannot be
+ * analysed are not cached
+ */
+public class RunningLineLayoutCache {
+    static final int MAXIMUM_LAYOUTS = 256;
+
+    private final Map<HeaderFingerprint, RunningLineColumns> layouts = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The column layout of the running line header. Note that, as with {@link
+     * RunningLineHeader#createIndexOfRunningLineColumns(List)}, analysing a header not seen before
+     * modifies the list (and some of its characters)
+     */
+    public RunningLineColumns getColumns(List<ChartCharacter> runningLineHeader)
+            throws RunningLineHeader.MalformedRaceException {
+        // the fingerprint must be taken before the header is analysed
+        HeaderFingerprint fingerprint = new HeaderFingerprint(runningLineHeader);
+        RunningLineColumns columns = layouts.get(fingerprint);
+        if (columns != null) {
+            hits.increment();
+            return columns;
+        }
+
+        misses.increment();
+        columns = new RunningLineColumns(
+                RunningLineHeader.createIndexOfRunningLineColumns(runningLineHeader));
+        // the variety of headers is small, but don't grow without bound on unusual charts
+        if (layouts.size() < MAXIMUM_LAYOUTS) {
+            RunningLineColumns existing = layouts.putIfAbsent(fingerprint, columns);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * The number of headers whose layout was found in the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * The number of headers that had to be analysed
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return layouts.size();
+    }
+
+    public void clear() {
+        layouts.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "RunningLineLayoutCache{" +
+                "size=" + size() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                '}';
+    }
+
+    /**
+     * The glyphs and (thousandths of the) positions and widths of a header's characters
+     */
+    static class HeaderFingerprint {
+        private final char[] glyphs;
+        private final int[] positions;
+        private final int hashCode;
+
+        HeaderFingerprint(List<ChartCharacter> runningLineHeader) {
+            glyphs = new char[runningLineHeader.size()];
+            positions = new int[2 * runningLineHeader.size()];
+            for (int i = 0; i < glyphs.length; i++) {
+                ChartCharacter character = runningLineHeader.get(i);
+                glyphs[i] = character.getUnicode();
+                positions[2 * i] = Chart.toThousandths(character.getxDirAdj());
+                positions[(2 * i) + 1] = Chart.toThousandths(character.getWidthDirAdj());
+            }
+            hashCode = (31 * Arrays.hashCode(glyphs)) + Arrays.hashCode(positions);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            HeaderFingerprint that = (HeaderFingerprint) o;
+
+            return hashCode == that.hashCode && Arrays.equals(glyphs, that.glyphs) &&
+                    Arrays.equals(positions, that.positions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The characters of a running line, grouped by column, in the order each column first appears in
+ * the running line. Each column's {@link RunningLineColumn} is resolved once, from the header, so
+ * the fixed columns can be looked up by ordinal rather than by their header text
+ */
+public class RunningLineRow {
+
+    private final String[] columnHeaders;
+    private final RunningLineColumn[] columns;
+    private final List<ChartCharacter>[] characters;
+    // the index of the (first) column of each RunningLineColumn, by ordinal (or -1 if absent)
+    private final int[] indexByColumn = new int[RunningLineColumn.values().length];
+
+    RunningLineRow(String[] columnHeaders, RunningLineColumn[] columns,
+            List<ChartCharacter>[] characters) {
+        this.columnHeaders = columnHeaders;
+        this.columns = columns;
+        this.characters = characters;
+        Arrays.fill(indexByColumn, -1);
+        for (int i = columns.length - 1; i >= 0; i--) {
+            indexByColumn[columns[i].ordinal()] = i;
+        }
+    }
+
+    /**
+     * The row of the characters grouped by column header, in the map's order
+     */
+    @SuppressWarnings("unchecked")
+    public static RunningLineRow of(Map<String, List<ChartCharacter>> charactersByColumn) {
+        String[] columnHeaders = new String[charactersByColumn.size()];
+        RunningLineColumn[] columns = new RunningLineColumn[charactersByColumn.size()];
+        List<ChartCharacter>[] characters = new List[charactersByColumn.size()];
+        int i = 0;
+        for (Map.Entry<String, List<ChartCharacter>> column : charactersByColumn.entrySet()) {
+            columnHeaders[i] = column.getKey();
+            columns[i] = RunningLineColumn.forHeader(column.getKey());
+            characters[i] = column.getValue();
+            i++;
+        }
+        return new RunningLineRow(columnHeaders, columns, characters);
+    }
+
+    /**
+     * The number of columns with characters in this row
+     */
+    public int size() {
+        return columns.length;
+    }
+
+    public String getColumnHeader(int index) {
+        return columnHeaders[index];
+    }
+
+    public RunningLineColumn getColumn(int index) {
+        return columns[index];
+    }
+
+    public List<ChartCharacter> getCharacters(int index) {
+        return characters[index];
+    }
+
+    /**
+     * The characters of the column (or, for {@link RunningLineColumn#POINT_OF_CALL}, of the first
+     * point of call), or null if the row has none
+     */
+    public List<ChartCharacter> get(RunningLineColumn column) {
+        int index = indexByColumn[column.ordinal()];
+        return (index < 0 ? null : characters[index]);
+    }
+
+    /**
+     * The characters by column header, in the order the columns first appear in the row
+     */
+    public Map<String, List<ChartCharacter>> toMap() {
+        Map<String, List<ChartCharacter>> charactersByColumn = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            charactersByColumn.put(columnHeaders[i], characters[i]);
+        }
+        return charactersByColumn;
+    }
+
+    @Override
+    public String toString() {
+        return "RunningLineRow{" + toMap() + '}';
+    }
+}
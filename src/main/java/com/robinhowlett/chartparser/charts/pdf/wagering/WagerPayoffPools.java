@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.robinhowlett.chartparser.charts.pdf.Chart;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
 import com.robinhowlett.chartparser.charts.pdf.Horse;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.WinPlaceShowPayoffPool
@@ -53,11 +55,15 @@ public class WagerPayoffPools {
 
     public static WagerPayoffPools parse(List<List<ChartCharacter>> lines)
             throws ChartParserException {
-        for (List<ChartCharacter> line : lines) {
-            String text = Chart.convertToText(line);
+        return parse(ChartPage.fromLines(lines));
+    }
+
+    public static WagerPayoffPools parse(ChartPage page) throws ChartParserException {
+        for (int line : page.getSectionLines(Section.TOTAL_WPS_POOL)) {
+            String text = page.getLineText(line);
             Integer totalWinPlaceShowPool = parseTotalWinPlaceShowPool(text);
             if (totalWinPlaceShowPool != null) {
-                List<ChartCharacter> wageringLine = getWageringLine(line);
+                List<ChartCharacter> wageringLine = getWageringLine(page.getLine(line));
                 return parsePayoffs(totalWinPlaceShowPool, wageringLine);
             }
         }
@@ -0,0 +1,182 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only PDFBox {@link RandomAccessRead} over {@link ByteBuffer}s, so a PDF that is already in
+ * memory (heap or direct) is read without copying it, and a memory-mapped file (see {@link
+ * #map(File)}) is paged in by the operating system as it is parsed rather than being buffered on
+ * the heap. Files larger than a single mapping allows are mapped in chunks.
+ * <p>
+ * Like PDFBox's own implementations, instances are not thread-safe
+ */
+public class ByteBufferRandomAccessRead implements RandomAccessRead {
+    // 1 GB, comfortably below the limit of a single mapping
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    private final long length;
+    private final int chunkSize;
+    private ByteBuffer[] chunks;
+    private long position;
+
+    /**
+     * Reads the bytes between the buffer's position and limit. The buffer's own position is not
+     * changed
+     */
+    public ByteBufferRandomAccessRead(ByteBuffer buffer) {
+        this(new ByteBuffer[]{buffer.slice()}, buffer.remaining(),
+                Math.max(buffer.remaining(), 1));
+    }
+
+    private ByteBufferRandomAccessRead(ByteBuffer[] chunks, long length, int chunkSize) {
+        this.chunks = chunks;
+        this.length = length;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads the file through a read-only memory mapping
+     */
+    public static ByteBufferRandomAccessRead map(File file) throws IOException {
+        return map(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    static ByteBufferRandomAccessRead map(File file, int chunkSize) throws IOException {
+        // the mappings remain valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((length + chunkSize - 1) / chunkSize)];
+            for (int i = 0; i < chunks.length; i++) {
+                long offset = (long) i * chunkSize;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(chunkSize, length - offset));
+            }
+            return new ByteBufferRandomAccessRead(chunks, length, chunkSize);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        if (position >= length) {
+            return -1;
+        }
+        int b = chunks[(int) (position / chunkSize)].get((int) (position % chunkSize)) & 0xff;
+        position++;
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b) throws IOException {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        checkClosed();
+        if (length == 0) {
+            return 0;
+        }
+        if (position >= this.length) {
+            return -1;
+        }
+
+        int total = (int) Math.min(length, this.length - position);
+        int read = 0;
+        while (read < total) {
+            ByteBuffer chunk = chunks[(int) (position / chunkSize)].duplicate();
+            chunk.position((int) (position % chunkSize));
+            int count = Math.min(total - read, chunk.remaining());
+            chunk.get(b, offset + read, count);
+            read += count;
+            position += count;
+        }
+        return read;
+    }
+
+    @Override
+    public long getPosition() throws IOException {
+        checkClosed();
+        return position;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        this.position = position;
+    }
+
+    @Override
+    public long length() throws IOException {
+        checkClosed();
+        return length;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return chunks == null;
+    }
+
+    @Override
+    public int peek() throws IOException {
+        int b = read();
+        if (b != -1) {
+            rewind(1);
+        }
+        return b;
+    }
+
+    @Override
+    public void rewind(int bytes) throws IOException {
+        seek(getPosition() - bytes);
+    }
+
+    @Override
+    public byte[] readFully(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int count = read(bytes, read, length - read);
+            if (count == -1) {
+                throw new EOFException("Premature end of file");
+            }
+            read += count;
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean isEOF() throws IOException {
+        return peek() == -1;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkClosed();
+        return (int) Math.min(Math.max(length - position, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Releases the buffers; mapped memory is unmapped once they are garbage collected
+     */
+    @Override
+    public void close() throws IOException {
+        chunks = null;
+    }
+
+    private void checkClosed() throws IOException {
+        if (isClosed()) {
+            throw new IOException("The buffer is closed");
+        }
+    }
+}
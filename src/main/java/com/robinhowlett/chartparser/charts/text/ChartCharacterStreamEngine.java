@@ -0,0 +1,349 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.fontbox.util.BoundingBox;
+import org.apache.pdfbox.contentstream.PDFStreamEngine;
+import org.apache.pdfbox.contentstream.operator.DrawObject;
+import org.apache.pdfbox.contentstream.operator.state.Concatenate;
+import org.apache.pdfbox.contentstream.operator.state.Restore;
+import org.apache.pdfbox.contentstream.operator.state.Save;
+import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
+import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
+import org.apache.pdfbox.contentstream.operator.text.BeginText;
+import org.apache.pdfbox.contentstream.operator.text.EndText;
+import org.apache.pdfbox.contentstream.operator.text.MoveText;
+import org.apache.pdfbox.contentstream.operator.text.MoveTextSetLeading;
+import org.apache.pdfbox.contentstream.operator.text.NextLine;
+import org.apache.pdfbox.contentstream.operator.text.SetCharSpacing;
+import org.apache.pdfbox.contentstream.operator.text.SetFontAndSize;
+import org.apache.pdfbox.contentstream.operator.text.SetTextHorizontalScaling;
+import org.apache.pdfbox.contentstream.operator.text.SetTextLeading;
+import org.apache.pdfbox.contentstream.operator.text.SetTextRenderingMode;
+import org.apache.pdfbox.contentstream.operator.text.SetTextRise;
+import org.apache.pdfbox.contentstream.operator.text.SetWordSpacing;
+import org.apache.pdfbox.contentstream.operator.text.ShowText;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextAdjusted;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextLine;
+import org.apache.pdfbox.contentstream.operator.text.ShowTextLineAndSpace;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDCIDFont;
+import org.apache.pdfbox.pdmodel.font.PDCIDFontType2;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.pdmodel.font.PDSimpleFont;
+import org.apache.pdfbox.pdmodel.font.PDTrueTypeFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.pdmodel.font.encoding.GlyphList;
+import org.apache.pdfbox.pdmodel.graphics.state.PDGraphicsState;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import org.apache.pdfbox.util.Vector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.robinhowlett.chartparser.charts.pdf.Chart.toThousandths;
+
+/**
+ * A lighter-weight alternative to {@link ChartCharacterStripper}, built directly on Apache PDFBox's
+ * {@link PDFStreamEngine} rather than {@link org.apache.pdfbox.text.PDFTextStripper}. Only the
+ * text-showing and text-state operators (plus those needed to track the transformation matrix and
+ * to enter form XObjects) are registered, so path construction, painting, clipping, colour and
+ * image operators are skipped, and the stripper's word, line, and paragraph assembly and text
+ * output is avoided entirely.
+ * <p>
+ * Each glyph is positioned exactly as PDFBox 2.0's text extraction positions it, and overlapping
+ * duplicate glyphs (commonly used to simulate bold text) are suppressed and diacritics merged in
+ * the same way, so the resulting {@link ChartPage} is identical to that of {@link
+ * ChartCharacterStripper}. Article threads (beads) are not used by the charts and are ignored
+ */
+public class ChartCharacterStreamEngine extends PDFStreamEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChartCharacterStreamEngine.class);
+    private static final String ADDITIONAL_GLYPH_LIST =
+            "org/apache/pdfbox/resources/glyphlist/additional.txt";
+
+    private final GlyphList glyphList;
+
+    // per-page state
+    private int pageRotation;
+    private PDRectangle pageSize;
+    private Matrix translateMatrix;
+    private List<TextPosition> textPositions = new ArrayList<>();
+    private Map<String, TreeMap<Float, TreeSet<Float>>> characterPositions = new HashMap<>();
+
+    public ChartCharacterStreamEngine() throws IOException {
+        addOperator(new BeginText());
+        addOperator(new Concatenate());
+        addOperator(new DrawObject());
+        addOperator(new EndText());
+        addOperator(new SetGraphicsStateParameters());
+        addOperator(new Save());
+        addOperator(new Restore());
+        addOperator(new NextLine());
+        addOperator(new SetCharSpacing());
+        addOperator(new MoveText());
+        addOperator(new MoveTextSetLeading());
+        addOperator(new SetFontAndSize());
+        addOperator(new ShowText());
+        addOperator(new ShowTextAdjusted());
+        addOperator(new SetTextLeading());
+        addOperator(new SetMatrix());
+        addOperator(new SetTextRenderingMode());
+        addOperator(new SetTextRise());
+        addOperator(new SetWordSpacing());
+        addOperator(new SetTextHorizontalScaling());
+        addOperator(new ShowTextLine());
+        addOperator(new ShowTextLineAndSpace());
+
+        try (InputStream input = GlyphList.class.getClassLoader()
+                .getResourceAsStream(ADDITIONAL_GLYPH_LIST)) {
+            glyphList = new GlyphList(GlyphList.getAdobeGlyphList(), input);
+        }
+    }
+
+    /**
+     * Extracts the characters of every page of the document into a single {@link ChartPage}
+     */
+    public ChartPage stripChartPage(PDDocument raceChart) throws IOException {
+        ChartPage page = new ChartPage();
+        for (PDPage pdPage : raceChart.getPages()) {
+            stripChartPage(pdPage, page);
+        }
+        return page;
+    }
+
+    /**
+     * Extracts the characters of a single page (numbered from 1) of the document into a {@link
+     * ChartPage}
+     */
+    public ChartPage stripChartPage(PDDocument raceCharts, int pageNumber) throws IOException {
+        ChartPage page = new ChartPage();
+        stripChartPage(raceCharts.getPage(pageNumber - 1), page);
+        return page;
+    }
+
+    private void stripChartPage(PDPage pdPage, ChartPage page) throws IOException {
+        if (!pdPage.hasContents()) {
+            return;
+        }
+
+        textPositions = new ArrayList<>();
+        characterPositions = new HashMap<>();
+        processPage(pdPage);
+
+        // merging diacritics can update a previous position, so only add them once the page is done
+        for (TextPosition text : textPositions) {
+            page.addThousandths(toThousandths(text.getXDirAdj()),
+                    toThousandths(text.getYDirAdj()),
+                    toThousandths(text.getFontSize()),
+                    toThousandths(text.getXScale()),
+                    toThousandths(text.getHeightDir()),
+                    toThousandths(text.getWidthOfSpace()),
+                    toThousandths(text.getWidthDirAdj()),
+                    ChartCharacterStripper.toUnicode(text));
+        }
+    }
+
+    @Override
+    public void processPage(PDPage page) throws IOException {
+        pageRotation = page.getRotation();
+        pageSize = page.getCropBox();
+        if (pageSize.getLowerLeftX() == 0 && pageSize.getLowerLeftY() == 0) {
+            translateMatrix = null;
+        } else {
+            // translate the positions so the crop box's lower-left corner is the origin
+            translateMatrix = Matrix.getTranslateInstance(-pageSize.getLowerLeftX(),
+                    -pageSize.getLowerLeftY());
+        }
+        super.processPage(page);
+    }
+
+    /**
+     * Creates the {@link TextPosition} of the glyph as PDFBox 2.0's text extraction does
+     */
+    @Override
+    protected void showGlyph(Matrix textRenderingMatrix, PDFont font, int code, String unicode,
+            Vector displacement) throws IOException {
+        PDGraphicsState state = getGraphicsState();
+        Matrix ctm = state.getCurrentTransformationMatrix();
+        float fontSize = state.getTextState().getFontSize();
+        float horizontalScaling = state.getTextState().getHorizontalScaling() / 100f;
+        Matrix textMatrix = getTextMatrix();
+
+        BoundingBox bbox = font.getBoundingBox();
+        if (bbox.getLowerLeftY() < Short.MIN_VALUE) {
+            // PDFBOX-2158 and PDFBOX-3130: files from the Acrobat Distiller bug
+            bbox.setLowerLeftY(-(bbox.getLowerLeftY() + 65536));
+        }
+        // half of the bounding box is used as the height
+        float glyphHeight = bbox.getHeight() / 2;
+
+        // sometimes the bbox has very high values, but the cap height is better
+        PDFontDescriptor fontDescriptor = font.getFontDescriptor();
+        if (fontDescriptor != null) {
+            float capHeight = fontDescriptor.getCapHeight();
+            if (capHeight != 0 && (capHeight < glyphHeight || glyphHeight == 0)) {
+                glyphHeight = capHeight;
+            }
+        }
+
+        // transformPoint from glyph space -> text space
+        float height;
+        if (font instanceof PDType3Font) {
+            height = font.getFontMatrix().transformPoint(0, glyphHeight).y;
+        } else {
+            height = glyphHeight / 1000;
+        }
+
+        float displacementX = displacement.getX();
+        // the sorting algorithm is based on the width of the character. As the displacement
+        // for vertical characters doesn't provide any suitable value for it, we have to
+        // calculate our own
+        if (font.isVertical()) {
+            displacementX = font.getWidth(code) / 1000;
+            TrueTypeFont ttf = getTrueTypeFont(font);
+            if (ttf != null && ttf.getUnitsPerEm() != 1000) {
+                displacementX *= 1000f / ttf.getUnitsPerEm();
+            }
+        }
+
+        // (modified) combined displacement, this is calculated *without* taking the character
+        // spacing and word spacing into account, due to legacy code in TextStripper
+        float tx = displacementX * fontSize * horizontalScaling;
+        float ty = displacement.getY() * fontSize;
+
+        // (modified) combined displacement matrix
+        Matrix td = Matrix.getTranslateInstance(tx, ty);
+
+        // (modified) text rendering matrix
+        Matrix nextTextRenderingMatrix = td.multiply(textMatrix).multiply(ctm);
+        float nextX = nextTextRenderingMatrix.getTranslateX();
+        float nextY = nextTextRenderingMatrix.getTranslateY();
+
+        // (modified) width and height calculations
+        float dxDisplay = nextX - textRenderingMatrix.getTranslateX();
+        float dyDisplay = height * textRenderingMatrix.getScalingFactorY();
+
+        // the space width is used for word separation by the stripper (and written to the chart)
+        float glyphSpaceToTextSpaceFactor = 1 / 1000f;
+        if (font instanceof PDType3Font) {
+            glyphSpaceToTextSpaceFactor = font.getFontMatrix().getScaleX();
+        }
+
+        float spaceWidthText = 0;
+        try {
+            // to avoid crash as described in PDFBOX-614, see what the space displacement should be
+            spaceWidthText = (font.getSpaceWidth() * glyphSpaceToTextSpaceFactor);
+        } catch (Throwable exception) {
+            LOGGER.warn(exception.getMessage(), exception);
+        }
+
+        if (spaceWidthText == 0) {
+            spaceWidthText = (font.getAverageFontWidth() * glyphSpaceToTextSpaceFactor);
+            // the average space width appears to be higher than necessary so make it smaller
+            spaceWidthText *= .80f;
+        }
+        if (spaceWidthText == 0) {
+            spaceWidthText = 1.0f; // if could not find font, use a generic value
+        }
+
+        // the space width has to be transformed into display units
+        float spaceWidthDisplay = spaceWidthText * textRenderingMatrix.getScalingFactorX();
+
+        // use our additional glyph list for Unicode mapping
+        unicode = font.toUnicode(code, glyphList);
+
+        // when there is no Unicode mapping available, Acrobat simply coerces the character code
+        // into Unicode, so we do the same
+        if (unicode == null) {
+            if (font instanceof PDSimpleFont) {
+                char c = (char) code;
+                unicode = new String(new char[]{c});
+            } else {
+                // Acrobat skips the character codes of composite fonts instead
+                return;
+            }
+        }
+
+        // adjust for cropbox if needed
+        Matrix translatedTextRenderingMatrix;
+        if (translateMatrix == null) {
+            translatedTextRenderingMatrix = textRenderingMatrix;
+        } else {
+            translatedTextRenderingMatrix = Matrix.concatenate(translateMatrix,
+                    textRenderingMatrix);
+            nextX -= pageSize.getLowerLeftX();
+            nextY -= pageSize.getLowerLeftY();
+        }
+
+        processTextPosition(new TextPosition(pageRotation, pageSize.getWidth(),
+                pageSize.getHeight(), translatedTextRenderingMatrix, nextX, nextY,
+                Math.abs(dyDisplay), dxDisplay, Math.abs(spaceWidthDisplay), unicode,
+                new int[]{code}, font, fontSize,
+                (int) (fontSize * textMatrix.getScalingFactorX())));
+    }
+
+    private static TrueTypeFont getTrueTypeFont(PDFont font) throws IOException {
+        if (font instanceof PDTrueTypeFont) {
+            return ((PDTrueTypeFont) font).getTrueTypeFont();
+        } else if (font instanceof PDType0Font) {
+            PDCIDFont cidFont = ((PDType0Font) font).getDescendantFont();
+            if (cidFont instanceof PDCIDFontType2) {
+                return ((PDCIDFontType2) cidFont).getTrueTypeFont();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Suppresses a glyph that overlaps an identical glyph already shown (within a third of its
+     * width), and merges diacritics with the glyph they belong to, as {@link
+     * org.apache.pdfbox.text.PDFTextStripper} does
+     */
+    private void processTextPosition(TextPosition text) {
+        String textCharacter = text.getUnicode();
+        float textX = text.getX();
+        float textY = text.getY();
+        TreeMap<Float, TreeSet<Float>> sameTextCharacters =
+                characterPositions.computeIfAbsent(textCharacter, k -> new TreeMap<>());
+
+        float tolerance = text.getWidth() / textCharacter.length() / 3.0f;
+        SortedMap<Float, TreeSet<Float>> xMatches =
+                sameTextCharacters.subMap(textX - tolerance, textX + tolerance);
+        for (TreeSet<Float> xMatch : xMatches.values()) {
+            if (!xMatch.subSet(textY - tolerance, textY + tolerance).isEmpty()) {
+                return;
+            }
+        }
+        sameTextCharacters.computeIfAbsent(textX, k -> new TreeSet<>()).add(textY);
+
+        if (textPositions.isEmpty()) {
+            textPositions.add(text);
+            return;
+        }
+
+        TextPosition previous = textPositions.get(textPositions.size() - 1);
+        if (text.isDiacritic() && previous.contains(text)) {
+            previous.mergeDiacritic(text);
+        } else if (previous.isDiacritic() && text.contains(previous)) {
+            text.mergeDiacritic(previous);
+            textPositions.set(textPositions.size() - 1, text);
+        } else {
+            textPositions.add(text);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static com.robinhowlett.chartparser.charts.pdf.Chart.fromThousandths;
+import static com.robinhowlett.chartparser.charts.pdf.Chart.toThousandths;
+
+/**
+ * This class will take a PDF chart and add each character, with its location, scale, and value, to
+ * a {@link ChartPage}. The values are rounded exactly as {@link ChartStripper} writes them, so the
+ * result is the same as reading that CSV back, but without the round trip through text.
+ */
+public class ChartCharacterStripper extends PDFTextStripper {
+    private ChartPage page = new ChartPage();
+
+    public ChartCharacterStripper() throws IOException {
+        super();
+    }
+
+    /**
+     * Extracts the characters of every page of the document into a single {@link ChartPage}
+     */
+    public ChartPage stripChartPage(PDDocument raceChart) throws IOException {
+        page = new ChartPage();
+        try (StringWriter throwawayWriter = new StringWriter()) {
+            writeText(raceChart, throwawayWriter);
+        }
+        return page;
+    }
+
+    /**
+     * Extracts the characters of a single page (numbered from 1) of the document into a {@link
+     * ChartPage}. Resources such as fonts are loaded once by the document and shared across its
+     * pages, so there is no need to split the document beforehand
+     */
+    public ChartPage stripChartPage(PDDocument raceCharts, int pageNumber) throws IOException {
+        setStartPage(pageNumber);
+        setEndPage(pageNumber);
+        return stripChartPage(raceCharts);
+    }
+
+    @Override
+    protected void writeString(String string, List<TextPosition> textPositions) throws IOException {
+        for (TextPosition text : textPositions) {
+            page.addThousandths(toThousandths(text.getXDirAdj()),
+                    toThousandths(text.getYDirAdj()),
+                    toThousandths(text.getFontSize()),
+                    toThousandths(text.getXScale()),
+                    toThousandths(text.getHeightDir()),
+                    toThousandths(text.getWidthOfSpace()),
+                    toThousandths(text.getWidthDirAdj()),
+                    toUnicode(text));
+        }
+    }
+
+    /**
+     * Creates a {@link ChartCharacter} from the {@link TextPosition}, rounding half-up to three
+     * decimal places. Whitespace glyphs become the {@code '\0'} character, as they do when the
+     * trimmed CSV row is read back, and glyphs mapping to more than one character (e.g.
+     * ligatures) keep the first
+     */
+    public static ChartCharacter toChartCharacter(TextPosition text) {
+        ChartCharacter chartCharacter = new ChartCharacter();
+        chartCharacter.setxDirAdj(fromThousandths(toThousandths(text.getXDirAdj())));
+        chartCharacter.setyDirAdj(fromThousandths(toThousandths(text.getYDirAdj())));
+        chartCharacter.setFontSize(fromThousandths(toThousandths(text.getFontSize())));
+        chartCharacter.setxScale(fromThousandths(toThousandths(text.getXScale())));
+        chartCharacter.setHeight(fromThousandths(toThousandths(text.getHeightDir())));
+        chartCharacter.setWidthOfSpace(fromThousandths(toThousandths(text.getWidthOfSpace())));
+        chartCharacter.setWidthDirAdj(fromThousandths(toThousandths(text.getWidthDirAdj())));
+        chartCharacter.setUnicode(toUnicode(text));
+        return chartCharacter;
+    }
+
+    static char toUnicode(TextPosition text) {
+        String unicode = text.getUnicode();
+        unicode = (unicode != null ? unicode.trim() : "");
+        return (unicode.isEmpty() ? '\0' : unicode.charAt(0));
+    }
+}
@@ -0,0 +1,137 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Loads PDF charts (see {@link ChartSource}) into PDFBox {@link PDDocument}s. By default, as with
+ * {@link PDDocument#load(File)}, the decoded content streams are held on the heap; for very large
+ * files (e.g. season-long chart books) a {@link MemoryUsageSetting} using a temporary file (or a
+ * mix of main memory and a temporary file) bounds the heap used, and the file itself can be read
+ * through a memory mapping (see {@link ByteBufferRandomAccessRead}) rather than buffered reads
+ * e.g.
+ * <pre>
+ * new ChartLoader.Builder()
+ *         .memoryUsageSetting(MemoryUsageSetting.setupMixed(64 * 1024 * 1024))
+ *         .memoryMapped(true)
+ *         .build();
+ * </pre>
+ * Fonts are shared across documents (see {@link SharedFontResourceCache}) unless disabled
+ */
+public class ChartLoader {
+    public static final ChartLoader DEFAULT = new Builder().build();
+
+    private final MemoryUsageSetting memoryUsageSetting;
+    private final boolean memoryMapped;
+    private final boolean sharedFonts;
+
+    private ChartLoader(MemoryUsageSetting memoryUsageSetting, boolean memoryMapped,
+            boolean sharedFonts) {
+        this.memoryUsageSetting = memoryUsageSetting;
+        this.memoryMapped = memoryMapped;
+        this.sharedFonts = sharedFonts;
+    }
+
+    public PDDocument load(File pdfChartFile) throws IOException {
+        return load(ChartSource.of(pdfChartFile));
+    }
+
+    public PDDocument load(ChartSource chartSource) throws IOException {
+        RandomAccessRead source = chartSource.open(memoryMapped);
+        PDDocument document;
+        try {
+            ScratchFile scratchFile = new ScratchFile(memoryUsageSetting);
+            try {
+                PDFParser parser = new PDFParser(source, "", scratchFile);
+                parser.parse();
+                // closing the document closes the source and the scratch file
+                document = parser.getPDDocument();
+            } catch (IOException e) {
+                IOUtils.closeQuietly(scratchFile);
+                throw e;
+            }
+        } catch (IOException e) {
+            IOUtils.closeQuietly(source);
+            throw e;
+        }
+
+        if (sharedFonts) {
+            SharedFontResourceCache.useSharedFonts(document);
+        }
+        return document;
+    }
+
+    /**
+     * A loader for documents that will be open at the same time (e.g. one per extraction worker),
+     * so that between them they use no more memory (or temporary file storage) than this loader
+     * allows a single document
+     */
+    public ChartLoader partitioned(int documents) {
+        return new ChartLoader(memoryUsageSetting.getPartitionedCopy(documents), memoryMapped,
+                sharedFonts);
+    }
+
+    public MemoryUsageSetting getMemoryUsageSetting() {
+        return memoryUsageSetting;
+    }
+
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    public boolean isSharedFonts() {
+        return sharedFonts;
+    }
+
+    @Override
+    public String toString() {
+        return "ChartLoader{" +
+                "memoryUsageSetting=" + memoryUsageSetting +
+                ", memoryMapped=" + memoryMapped +
+                ", sharedFonts=" + sharedFonts +
+                '}';
+    }
+
+    /**
+     * Builds a {@link ChartLoader}, by default holding everything in main memory, reading the file
+     * with buffered reads, and sharing fonts across documents
+     */
+    public static class Builder {
+        private MemoryUsageSetting memoryUsageSetting = MemoryUsageSetting.setupMainMemoryOnly();
+        private boolean memoryMapped;
+        private boolean sharedFonts = true;
+
+        /**
+         * Where PDFBox keeps the decoded content streams etc. of each document; e.g. {@link
+         * MemoryUsageSetting#setupTempFileOnly()} or {@link MemoryUsageSetting#setupMixed(long)}
+         */
+        public Builder memoryUsageSetting(MemoryUsageSetting memoryUsageSetting) {
+            this.memoryUsageSetting = memoryUsageSetting;
+            return this;
+        }
+
+        /**
+         * Read files through a read-only memory mapping
+         */
+        public Builder memoryMapped(boolean memoryMapped) {
+            this.memoryMapped = memoryMapped;
+            return this;
+        }
+
+        public Builder sharedFonts(boolean sharedFonts) {
+            this.sharedFonts = sharedFonts;
+            return this;
+        }
+
+        public ChartLoader build() {
+            return new ChartLoader(memoryUsageSetting, memoryMapped, sharedFonts);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.cache.FileDigest;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.pdfbox.util.Version;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An on-disk cache of the {@link ChartPage}s extracted from each PDF, so a PDF that has been
+ * extracted before does not need to be loaded by PDFBox again. Each PDF is cached in its own file,
+ * named by the SHA-256 hash of the PDF's content, with the pages stored in a compact binary form:
+ * the (three decimal place) coordinates and sizes as integer thousandths, the glyphs as chars, and
+ * the index of the first character of each line. Cached files are memory-mapped when read and
+ * each page is only decoded when requested.
+ * <p>
+ * The version of the extraction (see {@link #EXTRACTION_VERSION}) is stored with each file, and
+ * files written by a different version are ignored (and later overwritten)
+ */
+public class ChartPageCache {
+    /**
+     * Increment whenever a change to the extraction (e.g. to {@link ChartCharacterStripper} or the
+     * separation of lines) means previously cached pages would differ from newly extracted pages
+     */
+    public static final int EXTRACTION_VERSION = 1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChartPageCache.class);
+    private static final int MAGIC = 0x43485047; // "CHPG"
+    private static final String FILE_EXTENSION = ".chart";
+
+    private final Path directory;
+    private final String version;
+
+    public ChartPageCache(Path directory) {
+        this.directory = directory;
+        this.version = EXTRACTION_VERSION + "/" + Version.getVersion();
+    }
+
+    /**
+     * Returns the cached pages of the PDF, if they were cached by this version of the extraction
+     */
+    public Optional<CachedChartPages> get(String key) {
+        Path path = getPath(key);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                return Optional.empty();
+            }
+            byte[] versionBytes = new byte[buffer.getShort()];
+            buffer.get(versionBytes);
+            if (!version.equals(new String(versionBytes, StandardCharsets.UTF_8))) {
+                return Optional.empty();
+            }
+            int pageCount = buffer.getInt();
+            int[] pageOffsets = new int[pageCount];
+            buffer.asIntBuffer().get(pageOffsets);
+            return Optional.of(new CachedChartPages(buffer, pageOffsets));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn(String.format("Unable to read cached chart pages: %s", path), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Caches the pages (in page order, before charts spread over two pages are combined) of the
+     * PDF. The file is written in full before replacing any existing file
+     */
+    public void put(String key, List<ChartPage> pages) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            byte[] versionBytes = version.getBytes(StandardCharsets.UTF_8);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(versionBytes.length);
+                out.write(versionBytes);
+                out.writeInt(pages.size());
+
+                // the offset of each page follows the header and the offsets themselves
+                int offset = 4 + 2 + versionBytes.length + 4 + (4 * pages.size());
+                for (ChartPage page : pages) {
+                    out.writeInt(offset);
+                    offset += getPageLength(page);
+                }
+
+                for (ChartPage page : pages) {
+                    writePage(out, page);
+                }
+            }
+            Files.move(temp, getPath(key), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The key for a PDF: the SHA-256 hash of its content, as hex
+     */
+    public static String createKey(File pdfChartFile) throws IOException {
+        return FileDigest.sha256Hex(pdfChartFile);
+    }
+
+    /**
+     * As {@link #createKey(File)}, for a PDF from any {@link ChartSource}
+     */
+    public static String createKey(ChartSource chartSource) throws IOException {
+        return chartSource.sha256Hex();
+    }
+
+    Path getPath(String key) {
+        return directory.resolve(key + FILE_EXTENSION);
+    }
+
+    private static int getPageLength(ChartPage page) {
+        // size, line count, line starts, seven coordinate/size columns, and the glyphs
+        return 4 + 4 + (4 * page.getLineCount()) + (7 * 4 * page.size()) + (2 * page.size());
+    }
+
+    private static void writePage(DataOutputStream out, ChartPage page) throws IOException {
+        out.writeInt(page.size());
+        out.writeInt(page.getLineCount());
+        for (int line = 0; line < page.getLineCount(); line++) {
+            out.writeInt(page.getLineStart(line));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getxDirAdjThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getyDirAdjThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getFontSizeThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getxScaleThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getHeightThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getWidthOfSpaceThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeInt(page.getWidthDirAdjThousandths(i));
+        }
+        for (int i = 0; i < page.size(); i++) {
+            out.writeChar(page.getUnicode(i));
+        }
+    }
+
+    /**
+     * The pages of a cached PDF, decoded from the memory-mapped file when requested
+     */
+    public static class CachedChartPages {
+        private final ByteBuffer buffer;
+        private final int[] pageOffsets;
+
+        CachedChartPages(ByteBuffer buffer, int[] pageOffsets) {
+            this.buffer = buffer;
+            this.pageOffsets = pageOffsets;
+        }
+
+        public int getPageCount() {
+            return pageOffsets.length;
+        }
+
+        /**
+         * Decodes the page (numbered from 1)
+         */
+        public ChartPage getPage(int pageNumber) {
+            // a duplicate has its own position, so pages can be decoded from different threads
+            ByteBuffer page = buffer.duplicate();
+            page.position(pageOffsets[pageNumber - 1]);
+
+            int size = page.getInt();
+            int lineCount = page.getInt();
+            int[] lineStarts = readInts(page, lineCount);
+            int[] xDirAdj = readInts(page, size);
+            int[] yDirAdj = readInts(page, size);
+            int[] fontSize = readInts(page, size);
+            int[] xScale = readInts(page, size);
+            int[] height = readInts(page, size);
+            int[] widthOfSpace = readInts(page, size);
+            int[] widthDirAdj = readInts(page, size);
+            char[] unicode = new char[size];
+            page.asCharBuffer().get(unicode);
+
+            ChartPage chartPage = new ChartPage(Math.max(size, 1));
+            for (int i = 0; i < size; i++) {
+                chartPage.addThousandths(xDirAdj[i], yDirAdj[i], fontSize[i], xScale[i],
+                        height[i], widthOfSpace[i], widthDirAdj[i], unicode[i]);
+            }
+            chartPage.setLineStarts(lineStarts, lineCount);
+            return chartPage;
+        }
+
+        private static int[] readInts(ByteBuffer buffer, int length) {
+            int[] values = new int[length];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + (4 * length));
+            return values;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.cache.FileDigest;
+
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A PDF chart to be parsed, either a file or bytes already in memory (e.g. an HTTP payload or a
+ * blob from an object store), with a label identifying it in log messages. In-memory bytes are
+ * read by PDFBox directly, without being written to a temporary file first. Each source can be
+ * opened more than once (e.g. by each extraction worker)
+ */
+public abstract class ChartSource {
+    private final String label;
+
+    private ChartSource(String label) {
+        this.label = label;
+    }
+
+    /**
+     * A source labelled with the file's name
+     */
+    public static ChartSource of(File pdfChartFile) {
+        return new FileChartSource(pdfChartFile);
+    }
+
+    /**
+     * A source labelled with the file's name. A path on another file system (e.g. a zip file or
+     * an object store's NIO provider) is read through the file system's provider, in full (into
+     * memory) each time it is opened
+     */
+    public static ChartSource of(Path pdfChartPath) {
+        if (pdfChartPath.getFileSystem() == FileSystems.getDefault()) {
+            return of(pdfChartPath.toFile());
+        }
+        return new PathChartSource(pdfChartPath);
+    }
+
+    /**
+     * A source of the bytes, which are not copied and so must not be changed while being parsed
+     */
+    public static ChartSource of(byte[] pdfChartBytes, String label) {
+        return of(ByteBuffer.wrap(pdfChartBytes), label);
+    }
+
+    /**
+     * A source of the bytes between the buffer's position and limit, which can be a heap, direct,
+     * or memory-mapped buffer. The bytes are not copied and so must not be changed while being
+     * parsed; the buffer's own position is not changed
+     */
+    public static ChartSource of(ByteBuffer pdfChartBuffer, String label) {
+        return new ByteBufferChartSource(pdfChartBuffer.asReadOnlyBuffer(), label);
+    }
+
+    /**
+     * A source of the bytes of the stream, which is read in full (into memory) and closed
+     */
+    public static ChartSource of(InputStream pdfChartStream, String label) throws IOException {
+        try (InputStream inputStream = pdfChartStream) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return of(bytes.toByteArray(), label);
+        }
+    }
+
+    /**
+     * Identifies the source in log messages
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * The SHA-256 digest of the PDF's content, as hex
+     */
+    public abstract String sha256Hex() throws IOException;
+
+    /**
+     * Opens the PDF for PDFBox to parse. A file is read through a memory mapping if requested;
+     * bytes already in memory are always read in place, and a path on another file system is
+     * always read into memory
+     */
+    abstract RandomAccessRead open(boolean memoryMapped) throws IOException;
+
+    @Override
+    public String toString() {
+        return label;
+    }
+
+    private static class FileChartSource extends ChartSource {
+        private final File pdfChartFile;
+
+        private FileChartSource(File pdfChartFile) {
+            super(pdfChartFile.getName());
+            this.pdfChartFile = pdfChartFile;
+        }
+
+        @Override
+        public String sha256Hex() throws IOException {
+            return FileDigest.sha256Hex(pdfChartFile);
+        }
+
+        @Override
+        RandomAccessRead open(boolean memoryMapped) throws IOException {
+            return (memoryMapped ? ByteBufferRandomAccessRead.map(pdfChartFile) :
+                    new RandomAccessBufferedFileInputStream(pdfChartFile));
+        }
+    }
+
+    private static class PathChartSource extends ChartSource {
+        private final Path pdfChartPath;
+
+        private PathChartSource(Path pdfChartPath) {
+            super(pdfChartPath.getFileName() != null ? pdfChartPath.getFileName().toString() :
+                    pdfChartPath.toString());
+            this.pdfChartPath = pdfChartPath;
+        }
+
+        @Override
+        public String sha256Hex() throws IOException {
+            return FileDigest.sha256Hex(Files.newInputStream(pdfChartPath));
+        }
+
+        @Override
+        RandomAccessRead open(boolean memoryMapped) throws IOException {
+            // other file systems need not support memory mapping
+            byte[] pdfChartBytes = Files.readAllBytes(pdfChartPath);
+            return new ByteBufferRandomAccessRead(ByteBuffer.wrap(pdfChartBytes));
+        }
+    }
+
+    private static class ByteBufferChartSource extends ChartSource {
+        private final ByteBuffer pdfChartBuffer;
+
+        private ByteBufferChartSource(ByteBuffer pdfChartBuffer, String label) {
+            super(label);
+            this.pdfChartBuffer = pdfChartBuffer;
+        }
+
+        @Override
+        public String sha256Hex() {
+            return FileDigest.sha256Hex(pdfChartBuffer);
+        }
+
+        @Override
+        RandomAccessRead open(boolean memoryMapped) {
+            return new ByteBufferRandomAccessRead(pdfChartBuffer);
+        }
+    }
+}
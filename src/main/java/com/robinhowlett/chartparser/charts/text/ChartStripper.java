@@ -1,6 +1,5 @@
 package com.robinhowlett.chartparser.charts.text;
 
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
 
 import java.io.IOException;
@@ -11,9 +10,10 @@ import static com.robinhowlett.chartparser.charts.pdf.Chart.round;
 
 /**
  * This class will take a PDF chart and for each character write a CSV row with its location, scale,
- * and value.
+ * and value. The characters are also added to a {@link
+ * com.robinhowlett.chartparser.charts.pdf.ChartPage}, as by {@link ChartCharacterStripper}
  */
-public class ChartStripper extends PDFTextStripper {
+public class ChartStripper extends ChartCharacterStripper {
     private final StringWriter writer;
 
     public ChartStripper(StringWriter writer) throws IOException {
@@ -23,6 +23,7 @@ public class ChartStripper extends PDFTextStripper {
 
     @Override
     protected void writeString(String string, List<TextPosition> textPositions) throws IOException {
+        super.writeString(string, textPositions);
         for (TextPosition text : textPositions) {
             String row =
                     round(text.getXDirAdj()) + "|" +
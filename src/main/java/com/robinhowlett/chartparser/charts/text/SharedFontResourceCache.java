@@ -0,0 +1,186 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.cache.FileDigest;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSBoolean;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.DefaultResourceCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A PDFBox resource cache that shares decoded fonts across documents, so the embedded font
+ * programs, width tables and unicode maps common to every chart are only parsed once rather than
+ * once per {@link PDDocument}. Fonts are keyed by a SHA-256 digest of their font dictionary and
+ * everything it references, including the raw bytes of any embedded font program, so identical
+ * fonts match regardless of their object numbers in each document.
+ * <p>
+ * {@link PDFont}s lazily fill unsynchronized caches (e.g. of glyph widths) as they are used, so the
+ * shared fonts are kept per thread: each extraction thread (e.g. of a long-lived executor) reuses
+ * the fonts it has decoded before, but never those another thread may be using. Type 3 fonts draw
+ * their glyphs from content streams of their own document, so they are only cached per document.
+ * Other resources are cached per document as usual
+ */
+public class SharedFontResourceCache extends DefaultResourceCache {
+    static final int MAXIMUM_FONTS_PER_THREAD = 64;
+
+    private static final ThreadLocal<Map<String, PDFont>> FONTS =
+            ThreadLocal.withInitial(() -> new LinkedHashMap<String, PDFont>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, PDFont> eldest) {
+                    return size() > MAXIMUM_FONTS_PER_THREAD;
+                }
+            });
+
+    // the digest of each font of this document, so it is only calculated once
+    private final Map<COSObject, String> keys = new HashMap<>();
+
+    /**
+     * Sets a new {@link SharedFontResourceCache} as the resource cache of the document. This must
+     * be done before any of the document's pages are used
+     */
+    public static PDDocument useSharedFonts(PDDocument document) {
+        document.setResourceCache(new SharedFontResourceCache());
+        return document;
+    }
+
+    @Override
+    public PDFont getFont(COSObject indirect) throws IOException {
+        PDFont font = super.getFont(indirect);
+        if (font != null) {
+            return font;
+        }
+        return FONTS.get().get(getKey(indirect));
+    }
+
+    @Override
+    public void put(COSObject indirect, PDFont font) throws IOException {
+        if (font instanceof PDType3Font) {
+            super.put(indirect, font);
+        } else {
+            FONTS.get().put(getKey(indirect), font);
+        }
+    }
+
+    private synchronized String getKey(COSObject indirect) throws IOException {
+        String key = keys.get(indirect);
+        if (key == null) {
+            key = digest(indirect.getObject());
+            keys.put(indirect, key);
+        }
+        return key;
+    }
+
+    /**
+     * A SHA-256 digest (as hex) of the object and everything it references. Dictionary entries are
+     * digested in key order and streams by their raw (still encoded) bytes
+     */
+    static String digest(COSBase object) throws IOException {
+        MessageDigest digest = FileDigest.sha256();
+        update(digest, object, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return FileDigest.toHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, COSBase object, Set<COSBase> visited)
+            throws IOException {
+        if (object instanceof COSObject) {
+            object = ((COSObject) object).getObject();
+        }
+
+        if (object == null) {
+            digest.update((byte) 'z');
+        } else if (object instanceof COSDictionary || object instanceof COSArray) {
+            if (!visited.add(object)) {
+                // a reference back to an object already being digested
+                digest.update((byte) 'r');
+                return;
+            }
+            if (object instanceof COSDictionary) {
+                updateDictionary(digest, (COSDictionary) object, visited);
+            } else {
+                COSArray array = (COSArray) object;
+                digest.update((byte) 'a');
+                updateLength(digest, array.size());
+                for (int i = 0; i < array.size(); i++) {
+                    update(digest, array.get(i), visited);
+                }
+            }
+        } else if (object instanceof COSName) {
+            digest.update((byte) 'n');
+            updateBytes(digest, ((COSName) object).getName().getBytes(StandardCharsets.UTF_8));
+        } else if (object instanceof COSString) {
+            digest.update((byte) 's');
+            updateBytes(digest, ((COSString) object).getBytes());
+        } else if (object instanceof COSFloat) {
+            digest.update((byte) 'f');
+            digest.update(ByteBuffer.allocate(4).putFloat(((COSFloat) object).floatValue())
+                    .array());
+        } else if (object instanceof COSNumber) {
+            digest.update((byte) 'i');
+            digest.update(ByteBuffer.allocate(8).putLong(((COSNumber) object).longValue())
+                    .array());
+        } else if (object instanceof COSBoolean) {
+            digest.update((byte) (((COSBoolean) object).getValue() ? 't' : 'b'));
+        } else {
+            digest.update((byte) 'o');
+            updateBytes(digest, object.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void updateDictionary(MessageDigest digest, COSDictionary dictionary,
+            Set<COSBase> visited) throws IOException {
+        List<COSName> names = new ArrayList<>(dictionary.keySet());
+        Collections.sort(names);
+
+        digest.update((byte) 'd');
+        updateLength(digest, names.size());
+        for (COSName name : names) {
+            updateBytes(digest, name.getName().getBytes(StandardCharsets.UTF_8));
+            update(digest, dictionary.getItem(name), visited);
+        }
+
+        if (dictionary instanceof COSStream) {
+            digest.update((byte) 'x');
+            byte[] buffer = new byte[8192];
+            try (InputStream raw = new DigestInputStream(
+                    ((COSStream) dictionary).createRawInputStream(), digest)) {
+                while (raw.read(buffer) != -1) {
+                    // the digest is updated as the stream is read
+                }
+            }
+        }
+    }
+
+    private static void updateBytes(MessageDigest digest, byte[] bytes) {
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLength(MessageDigest digest, int length) {
+        digest.update(ByteBuffer.allocate(4).putInt(length).array());
+    }
+}
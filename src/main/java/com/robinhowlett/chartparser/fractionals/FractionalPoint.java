@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -14,7 +15,8 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
- * Stores the {@link Fractional}s for a particular race distance
+ * Stores the {@link Fractional}s for a particular race distance. Both are immutable, so the
+ * fractional points loaded by the {@link FractionalPointRepository} can be shared by every race
  */
 public class FractionalPoint {
 
@@ -33,7 +35,8 @@ public class FractionalPoint {
             @JsonProperty("fractionals") List<Fractional> fractionals) {
         this.distance = distance;
         this.floor = floor;
-        this.fractionals = fractionals;
+        this.fractionals = (fractionals != null ?
+                Collections.unmodifiableList(new ArrayList<>(fractionals)) : null);
     }
 
     /**
@@ -43,8 +46,8 @@ public class FractionalPoint {
         protected final int point;
         protected final String text;
         protected final int feet;
-        protected String time;
-        protected Long millis;
+        protected final String time;
+        protected final Long millis;
 
         public Fractional(int point, String text, int feet) {
             this(point, text, feet, null, null);
@@ -59,6 +62,13 @@ public class FractionalPoint {
             this.millis = millis;
         }
 
+        /**
+         * A copy of this fractional with the time of the race at this point
+         */
+        public Fractional withMillis(long millis) {
+            return new Fractional(point, text, feet, convertToTime(millis), millis);
+        }
+
         public boolean hasFractionalValue() {
             return (getMillis() != null);
         }
@@ -79,18 +89,10 @@ public class FractionalPoint {
             return millis;
         }
 
-        public void setMillis(Long millis) {
-            this.millis = millis;
-        }
-
         public String getTime() {
             return time;
         }
 
-        public void setTime(String time) {
-            this.time = time;
-        }
-
         public boolean hasTimeAndMillis() {
             return (getTime() != null && !getTime().isEmpty() && getMillis() != null);
         }
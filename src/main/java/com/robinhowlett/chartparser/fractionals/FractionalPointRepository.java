@@ -2,28 +2,79 @@ package com.robinhowlett.chartparser.fractionals;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.FloorTable;
 import com.robinhowlett.chartparser.exceptions.ChartParserException;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.function.Supplier;
 
 /**
- * Loads the fractional times from a file
+ * Loads the fractional times from a file. The file is read once, when first needed, and the
+ * (immutable) {@link FractionalPoint}s are shared by every race
  */
 public class FractionalPointRepository {
 
-    private static final String FILENAME = "fractional-times.json";
-    private ObjectMapper mapper;
+    public static final String FILENAME = "fractional-times.json";
+    private Supplier<ObjectMapper> mapper;
+
+    // never changed once loaded, so can be read by any number of threads
+    private volatile FloorTable<FractionalPoint> fractionalPoints;
 
     public FractionalPointRepository(ObjectMapper mapper) {
+        this(() -> mapper, null);
+    }
+
+    /**
+     * A repository of the fractional points already read (e.g. from a {@link
+     * com.robinhowlett.chartparser.ReferenceDataSnapshot}), if not null, that only gets the mapper
+     * to read the file if there are none
+     */
+    public FractionalPointRepository(Supplier<ObjectMapper> mapper,
+            Collection<FractionalPoint> fractionalPoints) {
         this.mapper = mapper;
+        if (fractionalPoints != null) {
+            this.fractionalPoints = new FloorTable<>(fractionalPoints, FractionalPoint::getFloor);
+        }
     }
 
+    /**
+     * All the fractional points, in a new set (which, unlike the points, can be changed)
+     */
     public FractionalTreeSet findAll() throws ChartParserException {
+        FractionalTreeSet copy = new FractionalTreeSet();
+        copy.addAll(getFractionalPoints().getValues());
+        return copy;
+    }
+
+    /**
+     * The fractional points for the race distance, i.e. of the longest distance not exceeding it
+     * (or null if it is shorter than all of them)
+     */
+    public FractionalPoint findForDistance(int distanceInFeet) throws ChartParserException {
+        return getFractionalPoints().floor(distanceInFeet);
+    }
+
+    private FloorTable<FractionalPoint> getFractionalPoints() {
+        FloorTable<FractionalPoint> current = fractionalPoints;
+        if (current == null) {
+            synchronized (this) {
+                current = fractionalPoints;
+                if (current == null) {
+                    current = new FloorTable<>(readAll(), FractionalPoint::getFloor);
+                    fractionalPoints = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private FractionalTreeSet readAll() {
         try {
             try (InputStream fractionalPoints =
                          getClass().getClassLoader().getResourceAsStream(FILENAME)) {
-                return mapper.readValue(fractionalPoints,
+                return mapper.get().readValue(fractionalPoints,
                         new TypeReference<FractionalTreeSet>() {
                         });
             }
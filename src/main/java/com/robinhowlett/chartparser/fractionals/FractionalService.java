@@ -29,15 +29,14 @@ public class FractionalService {
         List<Fractional> fractionals = new ArrayList<>();
 
         if (fractions != null && !fractions.isEmpty()) {
-            FractionalTreeSet fractionalSet = repository.findAll();
-
             // find the fractionals for this race distance
-            FractionalPoint fractionalPoint =
-                    fractionalSet.floor(createForFloor(distanceInFeet));
+            FractionalPoint fractionalPoint = repository.findForDistance(distanceInFeet);
 
             int index = 0;
+            // the shared fractionals are immutable; each fraction's time is set on a copy, and
+            // guessed fractionals are removed from this race's own list of them
             List<Fractional> fractionalPoints =
-                    fractionalPoint.getFractionals();
+                    new ArrayList<>(fractionalPoint.getFractionals());
 
             // if the number of fractions detected is fewer than expected, or contains an invalid
             // value
@@ -50,9 +49,7 @@ public class FractionalService {
                         if (isLastFraction(fractions, i)) {
                             Fractional fractional =
                                     fractionalPoints.get(fractionalPoints.size() - 1);
-                            fractional.setMillis(millis.get());
-                            fractional.setTime(FractionalPoint.convertToTime(millis.get()));
-                            fractionals.add(fractional);
+                            fractionals.add(fractional.withMillis(millis.get()));
                         } else {
                             // attempt to guess the fractional that corresponds to the fraction time
                             // by creating a slow-fast range and determining if a fractional fits
@@ -74,9 +71,7 @@ public class FractionalService {
                                 if (fractional.getFeet() >= feetMin &&
                                         fractional.getFeet() <= feetMax) {
                                     fractionalPoints.remove(fractional);
-                                    fractional.setMillis(millis.get());
-                                    fractional.setTime(FractionalPoint.convertToTime(millis.get()));
-                                    fractionals.add(fractional);
+                                    fractionals.add(fractional.withMillis(millis.get()));
                                     break;
                                 }
                             }
@@ -88,11 +83,8 @@ public class FractionalService {
                 for (Fractional fractional : fractionalPoints) {
                     String time = fractions.get(index).toString();
                     Optional<Long> millis = calculateMillisecondsForFraction(time);
-                    if (millis.isPresent()) {
-                        fractional.setMillis(millis.get());
-                        fractional.setTime(FractionalPoint.convertToTime(millis.get()));
-                    }
-                    fractionals.add(fractional);
+                    fractionals.add(millis.isPresent() ? fractional.withMillis(millis.get()) :
+                            fractional);
                     index++;
                 }
             }
@@ -105,10 +97,6 @@ public class FractionalService {
         return (i == (fractions.size() - 1));
     }
 
-    private static FractionalPoint createForFloor(int fractionalPointInFeet) {
-        return new FractionalPoint(fractionalPointInFeet);
-    }
-
     public static Optional<Long> calculateMillisecondsForFraction(String time) {
         Pattern ELAPSED_TIME_PATTERN = Pattern.compile("((\\d+):)?(\\d+)+\\.(\\d)(\\d)?(\\d)?");
         Matcher matcher = ELAPSED_TIME_PATTERN.matcher(time);
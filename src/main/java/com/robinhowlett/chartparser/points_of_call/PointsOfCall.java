@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.robinhowlett.chartparser.charts.pdf.Starter;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +47,15 @@ public class PointsOfCall {
             this.feet = feet;
         }
 
+        /**
+         * A copy of this point of call, which can be changed without affecting this one
+         */
+        public PointOfCall copy() {
+            PointOfCall copy = new PointOfCall(point, text, feet);
+            copy.setRelativePosition(relativePosition);
+            return copy;
+        }
+
         public boolean hasKnownDistance() {
             return (feet != null);
         }
@@ -259,6 +269,21 @@ public class PointsOfCall {
         }
     }
 
+    /**
+     * A copy of these points of call, with copies of each {@link PointOfCall}, which can be changed
+     * without affecting these
+     */
+    public PointsOfCall copy() {
+        List<PointOfCall> copies = null;
+        if (calls != null) {
+            copies = new ArrayList<>(calls.size());
+            for (PointOfCall call : calls) {
+                copies.add(call.copy());
+            }
+        }
+        return new PointsOfCall(distance, floor, copies);
+    }
+
     public String getDistance() {
         return distance;
     }
@@ -2,6 +2,7 @@ package com.robinhowlett.chartparser.points_of_call;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.FloorTable;
 import com.robinhowlett.chartparser.charts.pdf.Breed;
 
 import org.slf4j.Logger;
@@ -9,30 +10,109 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Loads the points of call for a particular {@link Breed} as a {@link PointsOfCallTreeSet}. For
  * mixed breed races, the charts represent these in a QH-style format, but the points of call are
  * different based on whether the race distance is more in line with a TB or a QH race.
+ *
+ * Each file is read once, when first needed, and callers are given copies of its {@link
+ * PointsOfCall}s, as the starters' positions etc. are set on them
  */
 public class PointsOfCallRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PointsOfCallRepository.class);
 
-    private ObjectMapper mapper;
+    private static final Pattern TB_TYPE_DISTANCE = Pattern.compile("^.* furlongs?|miles? .*$");
+
+    public static final String FILENAME = "points_of_call/points-of-call.json";
+    public static final String LONG_MIXED_FILENAME =
+            "points_of_call/points-of-call_long-mixed.json"; // TB-type race distances
+    public static final String SHORT_MIXED_FILENAME =
+            "points_of_call/points-of-call_short-mixed.json"; // QH-type race distances
+    public static final List<String> FILENAMES = Collections.unmodifiableList(
+            Arrays.asList(FILENAME, LONG_MIXED_FILENAME, SHORT_MIXED_FILENAME));
+
+    private Supplier<ObjectMapper> mapper;
+
+    // never changed once loaded, so can be read by any number of threads
+    private final Map<String, FloorTable<PointsOfCall>> pointsOfCallByFileName =
+            new ConcurrentHashMap<>();
 
     public PointsOfCallRepository(ObjectMapper mapper) {
+        this(() -> mapper, Collections.emptyMap());
+    }
+
+    /**
+     * A repository of the points of call already read from (some of) the {@link #FILENAMES} (e.g.
+     * by a {@link com.robinhowlett.chartparser.ReferenceDataSnapshot}), that only gets the mapper
+     * to read any other file
+     */
+    public PointsOfCallRepository(Supplier<ObjectMapper> mapper,
+            Map<String, ? extends Collection<PointsOfCall>> pointsOfCallByFileName) {
         this.mapper = mapper;
+        pointsOfCallByFileName.forEach((fileName, pointsOfCall) ->
+                this.pointsOfCallByFileName.put(fileName,
+                        new FloorTable<>(pointsOfCall, PointsOfCall::getFloor)));
     }
 
+    /**
+     * All the points of call for the breed (and, for mixed breed races, distance), in a new set of
+     * copies that can be changed
+     */
     public PointsOfCallTreeSet findByBreed(Breed breed, String distance) {
-        String fileNameForBreed = getFileNameForBreed(breed, distance);
+        PointsOfCallTreeSet copy = new PointsOfCallTreeSet();
+        for (PointsOfCall pointsOfCall :
+                getPointsOfCall(getFileNameForBreed(breed, distance)).getValues()) {
+            copy.add(pointsOfCall.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Copies of all the points of call in the file (one of the {@link #FILENAMES}), in ascending
+     * order of floor
+     */
+    public List<PointsOfCall> findByFileName(String fileName) {
+        List<PointsOfCall> copies = new ArrayList<>();
+        for (PointsOfCall pointsOfCall : getPointsOfCall(fileName).getValues()) {
+            copies.add(pointsOfCall.copy());
+        }
+        return copies;
+    }
+
+    /**
+     * A copy of the points of call for the race distance, i.e. of the longest distance not
+     * exceeding it (or null if it is shorter than all of them)
+     */
+    public PointsOfCall findForDistance(Breed breed, String distance, int distanceInFeet) {
+        PointsOfCall pointsOfCall =
+                getPointsOfCall(getFileNameForBreed(breed, distance)).floor(distanceInFeet);
+        return (pointsOfCall != null ? pointsOfCall.copy() : null);
+    }
 
+    private FloorTable<PointsOfCall> getPointsOfCall(String fileName) {
+        return pointsOfCallByFileName.computeIfAbsent(fileName,
+                fileNameForBreed -> new FloorTable<>(read(fileNameForBreed),
+                        PointsOfCall::getFloor));
+    }
+
+    private PointsOfCallTreeSet read(String fileNameForBreed) {
         try {
             try (InputStream pointsOfCall =
                          getClass().getClassLoader().getResourceAsStream(fileNameForBreed)) {
-                return mapper.readValue(pointsOfCall, new TypeReference<PointsOfCallTreeSet>() {
-                });
+                return mapper.get().readValue(pointsOfCall,
+                        new TypeReference<PointsOfCallTreeSet>() {
+                        });
             }
         } catch (IOException e) {
             throw new RuntimeException(String.format("Unable to read %s as JSON", fileNameForBreed),
@@ -41,17 +121,11 @@ public class PointsOfCallRepository {
     }
 
     private String getFileNameForBreed(Breed breed, String distance) {
-        StringBuilder filename = new StringBuilder("points_of_call/points-of-call");
         if (breed.equals(Breed.QUARTER_HORSE) || breed.equals(Breed.MIXED)) {
-            if (distance.toLowerCase().matches("^.* furlongs?|miles? .*$")) {
-                filename.append("_long-mixed"); // TB-type race distances
-            } else {
-                filename.append("_short-mixed"); // QH-type race distances
-            }
+            return (TB_TYPE_DISTANCE.matcher(distance.toLowerCase()).matches() ?
+                    LONG_MIXED_FILENAME : SHORT_MIXED_FILENAME);
         }
-        filename.append(".json");
-
-        return filename.toString();
+        return FILENAME;
     }
 
 }
@@ -3,11 +3,9 @@ package com.robinhowlett.chartparser.points_of_call;
 import com.robinhowlett.chartparser.charts.pdf.Breed;
 import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
 
-import java.util.ArrayList;
-
 /**
  * Gets the {@link PointsOfCall}s for a particular race distance from the
- * {@link PointsOfCallRepository}
+ * {@link PointsOfCallRepository}. Each call returns a new copy, which the caller is free to change
  */
 public class PointsOfCallService {
 
@@ -18,11 +16,6 @@ public class PointsOfCallService {
     }
 
     public PointsOfCall getPointsOfCallForDistance(Breed breed, RaceDistance raceDistance) {
-        PointsOfCallTreeSet pointsOfCall = repository.findByBreed(breed, raceDistance.getText());
-        return pointsOfCall.floor(createForFloor(raceDistance.getValue()));
-    }
-
-    private static PointsOfCall createForFloor(int pointOfCallInFeet) {
-        return new PointsOfCall("", pointOfCallInFeet, new ArrayList<>());
+        return repository.findForDistance(breed, raceDistance.getText(), raceDistance.getValue());
     }
 }
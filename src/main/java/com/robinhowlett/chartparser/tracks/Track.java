@@ -10,19 +10,20 @@ public class Track {
     private String name;
 
     public String getCode() {
-        return code.trim();
+        return code;
     }
 
     public void setCode(String code) {
-        this.code = code;
+        // the codes and countries in the track codes file are padded
+        this.code = (code != null ? code.trim() : null);
     }
 
     public String getCountry() {
-        return country.trim();
+        return country;
     }
 
     public void setCountry(String country) {
-        this.country = country;
+        this.country = (country != null ? country.trim() : null);
     }
 
     public String getName() {
@@ -9,50 +9,87 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
+import java.util.function.Supplier;
 
 /**
- * Loads the {@link Track} codes, countries, and names from a file
+ * Loads the {@link Track} codes, countries, and names from a file. The file is read once, when a
+ * track is first looked up, and indexed by (trimmed) code and name; {@link #reload()} reads it
+ * again. The same {@link Track} instances are returned by every lookup, so they must not be changed
  */
 public class TrackRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TrackRepository.class);
-    private static final String FILENAME = "track-codes.csv";
+    public static final String FILENAME = "track-codes.csv";
+
+    private final Supplier<CsvMapper> csvMapper;
 
-    private CsvMapper csvMapper;
+    // replaced as a whole on reload, so each lookup sees either the old or the new tracks
+    private volatile Tracks tracks;
 
     public TrackRepository(CsvMapper csvMapper) {
+        this(() -> csvMapper, null);
+    }
+
+    /**
+     * A repository of the tracks already read (e.g. from a {@link
+     * com.robinhowlett.chartparser.ReferenceDataSnapshot}), if not null, that only gets the mapper
+     * to read the file if there are none or they are reloaded
+     */
+    public TrackRepository(Supplier<CsvMapper> csvMapper, List<Track> tracks) {
         this.csvMapper = csvMapper;
+        if (tracks != null) {
+            this.tracks = new Tracks(tracks);
+        }
     }
 
     public Optional<Track> findByCode(String trackCode) {
-        for (Track track : findAll()) {
-            if (track.getCode().trim().equals(trackCode.trim())) {
-                return of(track);
-            }
-        }
-        return empty();
+        return Optional.ofNullable(getTracks().byCode.get(trackCode.trim()));
     }
 
     public Optional<Track> findByName(String trackName) {
-        for (Track track : findAll()) {
-            if (track.getName().trim().equals(trackName.trim())) {
-                return of(track);
+        return Optional.ofNullable(getTracks().byName.get(trackName.trim()));
+    }
+
+    /**
+     * All the tracks, in file order, as an unmodifiable list
+     */
+    public List<Track> findAll() {
+        return getTracks().all;
+    }
+
+    /**
+     * Reads the file again, replacing the tracks once they have all been read
+     */
+    public void reload() {
+        tracks = new Tracks(readAll());
+    }
+
+    private Tracks getTracks() {
+        Tracks current = tracks;
+        if (current == null) {
+            synchronized (this) {
+                current = tracks;
+                if (current == null) {
+                    current = new Tracks(readAll());
+                    tracks = current;
+                }
             }
         }
-        return empty();
+        return current;
     }
 
-    public List<Track> findAll() {
+    private List<Track> readAll() {
         CsvSchema schema = CsvSchema.emptySchema().withColumnSeparator(';').withHeader();
 
         try {
             try (InputStream tracks = getClass().getClassLoader().getResourceAsStream(FILENAME)) {
-                MappingIterator<Track> mappingIterator = csvMapper.readerFor(Track.class)
+                MappingIterator<Track> mappingIterator = csvMapper.get().readerFor(Track.class)
                         .with(schema).readValues(tracks);
                 return mappingIterator.readAll();
             }
@@ -61,4 +98,30 @@ public class TrackRepository {
                     e);
         }
     }
+
+    /**
+     * The tracks, indexed by their trimmed code and name. Where more than one track has the same
+     * code (or name), the first in the file is used, as the lookups always did
+     */
+    private static class Tracks {
+        private final List<Track> all;
+        private final Map<String, Track> byCode;
+        private final Map<String, Track> byName;
+
+        private Tracks(List<Track> tracks) {
+            Map<String, Track> byCode = new HashMap<>();
+            Map<String, Track> byName = new HashMap<>();
+            for (Track track : tracks) {
+                if (track.getCode() != null) {
+                    byCode.putIfAbsent(track.getCode().trim(), track);
+                }
+                if (track.getName() != null) {
+                    byName.putIfAbsent(track.getName().trim(), track);
+                }
+            }
+            this.all = Collections.unmodifiableList(new ArrayList<>(tracks));
+            this.byCode = Collections.unmodifiableMap(byCode);
+            this.byName = Collections.unmodifiableMap(byName);
+        }
+    }
 }
@@ -25,4 +25,11 @@ public class TrackService {
     public List<Track> getTracks() {
         return repository.findAll();
     }
+
+    /**
+     * Reads the tracks again (e.g. after the track codes file has been updated)
+     */
+    public void reload() {
+        repository.reload();
+    }
 }
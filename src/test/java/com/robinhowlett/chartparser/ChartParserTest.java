@@ -1,20 +1,54 @@
 package com.robinhowlett.chartparser;
 
+import com.robinhowlett.chartparser.ChartParser.ExtractedPages;
+import com.robinhowlett.chartparser.ChartParser.PageExtractor;
+import com.robinhowlett.chartparser.cache.LruParseResultCache;
+import com.robinhowlett.chartparser.cache.ParseResultCache;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+import com.robinhowlett.chartparser.charts.pdf.Starter;
+import com.robinhowlett.chartparser.charts.pdf.Starter.Claim;
+import com.robinhowlett.chartparser.charts.text.ChartLoader;
+import com.robinhowlett.chartparser.charts.text.ChartPageCache;
+import com.robinhowlett.chartparser.charts.text.ChartSource;
 
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
 
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertThat;
 
 public class ChartParserTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private TestChartResources sampleCharts = new TestChartResources();
 
     @Test
@@ -55,6 +89,33 @@ public class ChartParserTest {
         assertThat(linesOfChartCharacters, is(expected));
     }
 
+    @Test
+    public void separateIntoLines_WithSampleChartPage_MatchesListLines() throws Exception {
+        List<List<ChartCharacter>> expected = sampleCharts.getSampleChartLines(0);
+
+        ChartPage page = sampleCharts.getSampleChartPage(0);
+
+        assertThat(page.getLineCount(), equalTo(expected.size()));
+        assertThat(page.getLines(), is(expected));
+    }
+
+    @Test
+    public void combine_WithChartSplitAcrossPages_MatchesLinesOfWholeChart() throws Exception {
+        ChartPage whole = sampleCharts.getSampleChartPage(0);
+        // split at the start of a line and part way through a line
+        for (int splitAt : new int[]{whole.getLineStart(20), whole.getLineStart(20) + 3}) {
+            ChartPage chart = new ChartPage();
+            chart.addAll(whole, 0, splitAt);
+            ChartPage continuation = new ChartPage();
+            continuation.addAll(whole, splitAt, whole.size());
+
+            ChartPage combined = ChartParser.combine(ChartParser.separateIntoLines(chart),
+                    ChartParser.separateIntoLines(continuation));
+
+            assertThat(combined, equalTo(whole));
+        }
+    }
+
     @Test
     public void getRunningLines_WithSampleChartSections_ExtractsRunningLinesCorrectly()
             throws Exception {
@@ -72,4 +133,333 @@ public class ChartParserTest {
         List<String> csvCharts = ChartParser.convertToCsv(sampleCharts.getPdfChartsFile());
         assertThat(csvCharts, is(expected));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void extractChartPages_WithSamplePdfChart_MatchesCsvCharts() throws Exception {
+        List<ChartPage> expected = new ArrayList<>();
+        for (String csvChart : sampleCharts.getCsvCharts()) {
+            expected.add(ChartParser.separateIntoLines(
+                    ChartPage.fromChartCharacters(ChartParser.readChartCsv(csvChart))));
+        }
+
+        List<ChartPage> charts = ChartParser.extractChartPages(sampleCharts.getPdfChartsFile());
+
+        assertThat(charts, is(expected));
+    }
+
+    @Test
+    public void convertToCsv_WithExecutor_CreatesSameCsvsInPageOrder() throws Exception {
+        List<String> expected = sampleCharts.getCsvCharts();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> csvCharts =
+                    ChartParser.convertToCsv(sampleCharts.getPdfChartsFile(), executor);
+            assertThat(csvCharts, is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parse_WithStarterExecutor_MatchesSequentialParse() throws Exception {
+        List<RaceResult> expected = ChartParser.create().parse(sampleCharts.getPdfChartsFile());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ChartParser chartParser = new ChartParser.Builder().starterExecutor(pool).build();
+            List<RaceResult> raceResults = chartParser.parse(sampleCharts.getPdfChartsFile());
+            assertThat(raceResults, is(expected));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void convertToCsv_WithTempFileChartLoaderAndExecutor_CreatesSameCsvs() throws Exception {
+        List<String> expected = ChartParser.convertToCsv(sampleCharts.getPdfChartsFile());
+        ChartLoader loader = new ChartLoader.Builder()
+                .memoryUsageSetting(MemoryUsageSetting.setupTempFileOnly()
+                        .setTempDir(temporaryFolder.getRoot()))
+                .memoryMapped(true)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<String> csvCharts = ChartParser.convertToCsv(
+                    ChartSource.of(sampleCharts.getPdfChartsFile()), loader, executor);
+            assertThat(csvCharts, is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractChartPages_WithExecutor_MatchesSequentialExtraction() throws Exception {
+        List<ChartPage> expected = ChartParser.extractChartPages(sampleCharts.getPdfChartsFile());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<ChartPage> charts =
+                    ChartParser.extractChartPages(sampleCharts.getPdfChartsFile(), executor);
+            assertThat(charts, is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractEachPage_WithSeveralWorkers_ReturnsPagesInOrder() throws Exception {
+        List<String> expected = ChartParser.extractEachPage(sampleCharts.getPdfChartsFile(),
+                ChartParser::createCsvChart, null);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<String> csvCharts = ChartParser.extractEachPage(
+                    ChartSource.of(sampleCharts.getPdfChartsFile()), ChartLoader.DEFAULT,
+                    ChartParser::createCsvChart, executor, 3);
+            assertThat(csvCharts.size(), equalTo(9));
+            assertThat(csvCharts, is(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void extractEachPage_WithWorkerThrowingUncheckedException_RethrowsIt()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            ChartParser.extractEachPage(ChartSource.of(sampleCharts.getPdfChartsFile()),
+                    ChartLoader.DEFAULT, (raceCharts, pageNumber) -> {
+                        if (pageNumber == 4) {
+                            throw new IllegalStateException("page 4");
+                        }
+                        return ChartParser.createCsvChart(raceCharts, pageNumber);
+                    }, executor, 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractEachPage_WithWorkerFailingToReadPage_ReturnsPagesBeforeIt()
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<String> csvCharts = ChartParser.extractEachPage(
+                    ChartSource.of(sampleCharts.getPdfChartsFile()), ChartLoader.DEFAULT,
+                    (raceCharts, pageNumber) -> {
+                        if (pageNumber == 4) {
+                            throw new IOException("page 4");
+                        }
+                        return ChartParser.createCsvChart(raceCharts, pageNumber);
+                    }, executor, 3);
+            assertThat(csvCharts.size(), lessThan(4));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractPages_WithEveryPageExtracted_IsComplete() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (ExecutorService pageExecutor : Arrays.asList(null, executor)) {
+                ExtractedPages<String> extractedPages = ChartParser.extractPages(
+                        ChartSource.of(sampleCharts.getPdfChartsFile()), ChartLoader.DEFAULT,
+                        ChartParser::createCsvChart, pageExecutor);
+                assertThat(extractedPages.getPageCount(), equalTo(9));
+                assertThat(extractedPages.isComplete(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractPages_WithPageFailingToRead_IsNotComplete() throws Exception {
+        PageExtractor<String> extractor = (raceCharts, pageNumber) -> {
+            if (pageNumber == 4) {
+                throw new IOException("page 4");
+            }
+            return ChartParser.createCsvChart(raceCharts, pageNumber);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            for (ExecutorService pageExecutor : Arrays.asList(null, executor)) {
+                ExtractedPages<String> extractedPages = ChartParser.extractPages(
+                        ChartSource.of(sampleCharts.getPdfChartsFile()), ChartLoader.DEFAULT,
+                        extractor, pageExecutor);
+                assertThat(extractedPages.isFinished(), is(false));
+                assertThat(extractedPages.isComplete(), is(false));
+                assertThat(extractedPages.getPages().size(), lessThan(4));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void extractPages_WhenInterrupted_IsNotComplete() throws Exception {
+        Thread caller = Thread.currentThread();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch workerExtracting = new CountDownLatch(1);
+        CountDownLatch never = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ExtractedPages<String> extractedPages = ChartParser.extractPages(
+                    ChartSource.of(sampleCharts.getPdfChartsFile()), ChartLoader.DEFAULT,
+                    (raceCharts, pageNumber) -> {
+                        try {
+                            if (Thread.currentThread() == caller) {
+                                // interrupted while the worker is still extracting its page
+                                if (!interrupted.getAndSet(true)) {
+                                    workerExtracting.await(10, TimeUnit.SECONDS);
+                                    caller.interrupt();
+                                }
+                            } else {
+                                workerExtracting.countDown();
+                                // until the worker is cancelled
+                                never.await();
+                            }
+                        } catch (InterruptedException e) {
+                            throw new InterruptedIOException();
+                        }
+                        return ChartParser.createCsvChart(raceCharts, pageNumber);
+                    }, executor, 2);
+            assertThat(Thread.interrupted(), is(true));
+            assertThat(extractedPages.isFinished(), is(false));
+            assertThat(extractedPages.isComplete(), is(false));
+            assertThat(extractedPages.getPages().size(), lessThan(9));
+        } finally {
+            Thread.interrupted();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parse_WithSampleClaim_CombinesClaimedHorseWithItsClaimingPrice() throws Exception {
+        List<RaceResult> raceResults =
+                ChartParser.create().parse(sampleCharts.getPdfChartsFile());
+        RaceResult raceResult = raceResults.get(8);
+        assertThat(raceResult.getRaceNumber(), equalTo(9));
+
+        // the claimed horse is joined to its starter by horse name, as it has no program number
+        for (Starter starter : raceResult.getStarters()) {
+            Claim claim = starter.getClaim();
+            if (starter.getHorse().getName().equals("Prater Sixty Four")) {
+                assertThat(claim.getPrice(), equalTo(2500));
+                assertThat(claim.isClaimed(), is(true));
+                assertThat(claim.getNewTrainerName(), equalTo("Tyler Gibbs"));
+                assertThat(claim.getNewOwnerName(), equalTo("Bonnie S. Gibbs"));
+            } else {
+                assertThat(claim.isClaimed(), is(false));
+            }
+        }
+    }
+
+    @Test
+    public void stream_WithSamplePdfChart_StreamsSameRaceResultsAsParse() throws Exception {
+        ChartParser chartParser = ChartParser.create();
+        List<RaceResult> expected = chartParser.parse(sampleCharts.getPdfChartsFile());
+
+        List<RaceResult> raceResults;
+        try (Stream<RaceResult> stream = chartParser.stream(sampleCharts.getPdfChartsFile())) {
+            raceResults = stream.collect(Collectors.toList());
+        }
+
+        assertThat(raceResults.size(), equalTo(9));
+        assertThat(raceResults, is(expected));
+    }
+
+    @Test
+    public void parse_WithInMemorySources_ParsesSameRaceResultsAsFile() throws Exception {
+        ChartParser chartParser = ChartParser.create();
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+        List<RaceResult> expected = chartParser.parse(pdfChartFile);
+        byte[] bytes = Files.readAllBytes(pdfChartFile.toPath());
+        ByteBuffer directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+
+        assertThat(expected.size(), equalTo(9));
+        assertThat(chartParser.parse(pdfChartFile.toPath()), is(expected));
+        assertThat(chartParser.parse(bytes, "payload"), is(expected));
+        assertThat(chartParser.parse(directBuffer, "blob"), is(expected));
+        assertThat(chartParser.parse(new ByteArrayInputStream(bytes), "upload"), is(expected));
+    }
+
+    @Test
+    public void extractChartPages_WithChartPageCache_MatchesUncachedExtraction() throws Exception {
+        List<ChartPage> expected = ChartParser.extractChartPages(sampleCharts.getPdfChartsFile());
+        ChartPageCache cache = new ChartPageCache(temporaryFolder.getRoot().toPath());
+
+        // the first extracts the pages and caches them, the second reads them from the cache
+        List<ChartPage> extracted = ChartParser.extractChartPages(
+                sampleCharts.getPdfChartsFile(), null, cache);
+        String key = ChartPageCache.createKey(sampleCharts.getPdfChartsFile());
+        assertThat(cache.get(key).isPresent(), is(true));
+        List<ChartPage> cached = ChartParser.extractChartPages(
+                sampleCharts.getPdfChartsFile(), null, cache);
+
+        assertThat(extracted, is(expected));
+        assertThat(cached, is(expected));
+    }
+
+    @Test
+    public void parse_WithParseResultCache_ReturnsCachedResultsWithoutParsing() throws Exception {
+        ParseResultCache cache = new LruParseResultCache(1);
+        ChartParser chartParser = new ChartParser.Builder().parseResultCache(cache).build();
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+
+        List<RaceResult> raceResults = chartParser.parse(pdfChartFile);
+        String key = chartParser.createParseResultKey(pdfChartFile);
+        assertThat(cache.get(key).get(), is(raceResults));
+
+        // replace the cached results, to show the PDF is not parsed again
+        List<RaceResult> cachedRaceResults = raceResults.subList(0, 1);
+        cache.put(key, cachedRaceResults);
+        assertThat(chartParser.parse(pdfChartFile), is(cachedRaceResults));
+    }
+
+    @Test
+    public void parse_WithPageFailingToRead_DoesNotCacheResults() throws Exception {
+        ParseResultCache cache = new LruParseResultCache(1);
+        ChartParser.Builder builder = new ChartParser.Builder().parseResultCache(cache);
+        builder.build();
+        // as if the last page could not be read
+        ChartParser chartParser = new ChartParser(builder) {
+            @Override
+            ExtractedPages<ChartPage> extractEachChartPage(ChartSource chartSource) {
+                ExtractedPages<ChartPage> pages = super.extractEachChartPage(chartSource);
+                return new ExtractedPages<>(
+                        pages.getPages().subList(0, pages.getPageCount() - 1),
+                        pages.getPageCount(), false);
+            }
+        };
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+
+        List<RaceResult> raceResults = chartParser.parse(pdfChartFile);
+
+        assertThat(raceResults.size(), equalTo(8));
+        assertThat(cache.get(chartParser.createParseResultKey(pdfChartFile)).isPresent(),
+                is(false));
+    }
+
+    @Test
+    public void stream_WithParseResultCache_StreamsCachedResultsWithoutCachingNewOnes()
+            throws Exception {
+        ParseResultCache cache = new LruParseResultCache(1);
+        ChartParser chartParser = new ChartParser.Builder().parseResultCache(cache).build();
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+        String key = chartParser.createParseResultKey(pdfChartFile);
+
+        try (Stream<RaceResult> stream = chartParser.stream(pdfChartFile)) {
+            assertThat(stream.count(), equalTo(9L));
+        }
+        assertThat(cache.get(key).isPresent(), is(false));
+
+        // cached results are streamed, to show the PDF is not parsed again
+        List<RaceResult> cachedRaceResults = chartParser.parse(pdfChartFile).subList(0, 1);
+        cache.put(key, cachedRaceResults);
+        try (Stream<RaceResult> stream = chartParser.stream(pdfChartFile)) {
+            assertThat(stream.collect(Collectors.toList()), is(cachedRaceResults));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.charts.pdf.Breed;
+import com.robinhowlett.chartparser.fractionals.FractionalPoint;
+import com.robinhowlett.chartparser.fractionals.FractionalPointRepository;
+import com.robinhowlett.chartparser.fractionals.FractionalTreeSet;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallRepository;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallTreeSet;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static com.robinhowlett.chartparser.ChartParser.getObjectMapper;
+
+/**
+ * Compares looking up the {@link FractionalPoint} and {@link PointsOfCall} templates for race
+ * distances with {@link java.util.TreeSet#floor(Object)} (allocating a probe object per lookup)
+ * to the binary search of a {@link FloorTable}. Not run as part of the tests; run the main method
+ * directly (optionally passing the number of lookups)
+ */
+public class FloorLookupBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int ITERATIONS = 20;
+
+    public static void main(String[] args) throws Exception {
+        int lookups = (args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000);
+        int[] distances = new int[lookups];
+        Random random = new Random(19);
+        for (int i = 0; i < lookups; i++) {
+            // 110 yards to 2 miles
+            distances[i] = 330 + random.nextInt(10560 - 330);
+        }
+
+        FractionalTreeSet fractionalPoints =
+                new FractionalPointRepository(getObjectMapper()).findAll();
+        FloorTable<FractionalPoint> fractionalTable =
+                new FloorTable<>(fractionalPoints, FractionalPoint::getFloor);
+        benchmark("Fractionals (TreeSet)", distances,
+                distance -> fractionalPoints.floor(new FractionalPoint(distance)));
+        benchmark("Fractionals (table)", distances, fractionalTable::floor);
+
+        PointsOfCallTreeSet pointsOfCall = new PointsOfCallRepository(getObjectMapper())
+                .findByBreed(Breed.THOROUGHBRED, "");
+        FloorTable<PointsOfCall> pointsOfCallTable =
+                new FloorTable<>(pointsOfCall, PointsOfCall::getFloor);
+        benchmark("Points of call (TreeSet)", distances,
+                distance -> pointsOfCall.floor(new PointsOfCall("", distance, new ArrayList<>())));
+        benchmark("Points of call (table)", distances, pointsOfCallTable::floor);
+    }
+
+    private static void benchmark(String name, int[] distances, IntFunction<Object> lookup) {
+        int found = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            found += lookUp(distances, lookup);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            found += lookUp(distances, lookup);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-26s %8.2f ns/lookup  (%d found)", name,
+                (double) elapsed / ITERATIONS / distances.length, found));
+    }
+
+    private static int lookUp(int[] distances, IntFunction<Object> lookup) {
+        int found = 0;
+        for (int distance : distances) {
+            if (lookup.apply(distance) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
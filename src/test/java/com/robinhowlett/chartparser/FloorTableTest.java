@@ -0,0 +1,55 @@
+package com.robinhowlett.chartparser;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class FloorTableTest {
+
+    @Test
+    public void floor_WithKeysAroundEachFloor_ReturnsValueOfGreatestFloorNotExceedingKey()
+            throws Exception {
+        FloorTable<Integer> table =
+                new FloorTable<>(Arrays.asList(990, 0, 1320), Integer::intValue);
+
+        assertThat(table.floor(-1), nullValue());
+        assertThat(table.floor(0), equalTo(0));
+        assertThat(table.floor(989), equalTo(0));
+        assertThat(table.floor(990), equalTo(990));
+        assertThat(table.floor(1319), equalTo(990));
+        assertThat(table.floor(Integer.MAX_VALUE), equalTo(1320));
+        assertThat(table.getValues(), contains(0, 990, 1320));
+    }
+
+    @Test
+    public void floor_WithRandomKeys_MatchesTreeSetFloor() throws Exception {
+        Random random = new Random(19);
+        TreeSet<Integer> floors = new TreeSet<>();
+        while (floors.size() < 40) {
+            floors.add(random.nextInt(20000));
+        }
+        FloorTable<Integer> table = new FloorTable<>(floors, Integer::intValue);
+
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(21000) - 500;
+            assertThat(table.floor(key), equalTo(floors.floor(key)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_WithDuplicateFloors_ThrowsIllegalArgumentException() throws Exception {
+        new FloorTable<>(Arrays.asList("330 yards", "110 yards"), String::length);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void getValues_WhenModified_ThrowsUnsupportedOperationException() throws Exception {
+        new FloorTable<>(Arrays.asList(1, 2), Integer::intValue).getValues().clear();
+    }
+}
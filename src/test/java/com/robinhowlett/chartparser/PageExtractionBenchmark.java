@@ -0,0 +1,105 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.text.ChartCharacterStreamEngine;
+import com.robinhowlett.chartparser.charts.text.ChartCharacterStripper;
+import com.robinhowlett.chartparser.charts.text.ChartLoader;
+import com.robinhowlett.chartparser.charts.text.SharedFontResourceCache;
+
+import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares extracting each page with {@link Splitter} (a new {@link PDDocument} per page) to
+ * extracting page ranges of the single loaded document, and the {@link ChartCharacterStripper} to
+ * the text-only {@link ChartCharacterStreamEngine}, and the cost of loading a file and extracting
+ * its first page with and without the {@link SharedFontResourceCache}, for the sample chart PDF.
+ * Not run as part of the tests; run the main method directly (optionally passing the number of
+ * iterations)
+ */
+public class PageExtractionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int iterations = (args.length > 0 ? Integer.parseInt(args[0]) : 30);
+        File pdfChartFile = new TestChartResources().getPdfChartsFile();
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors());
+        try {
+            benchmark("Splitter", iterations, () -> extractSplitPages(pdfChartFile));
+            benchmark("Page range", iterations, () -> ChartParser.extractEachPage(pdfChartFile,
+                    ChartParser::createChartPage, null));
+            benchmark("Page range (parallel)", iterations, () -> ChartParser.extractEachPage(
+                    pdfChartFile, ChartParser::createChartPage, executor));
+            benchmark("Stripper", iterations, () -> ChartParser.extractEachPage(pdfChartFile,
+                    (raceCharts, pageNumber) -> new ChartCharacterStripper()
+                            .stripChartPage(raceCharts, pageNumber), null));
+            benchmark("Stream engine", iterations, () -> ChartParser.extractEachPage(pdfChartFile,
+                    (raceCharts, pageNumber) -> new ChartCharacterStreamEngine()
+                            .stripChartPage(raceCharts, pageNumber), null));
+            benchmark("First page (own fonts)", iterations, () -> extractFirstPage(
+                    PDDocument.load(pdfChartFile)));
+            benchmark("First page (shared)", iterations, () -> extractFirstPage(
+                    ChartLoader.DEFAULT.load(pdfChartFile)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // how pages were extracted before page ranges were used
+    private static List<ChartPage> extractSplitPages(File pdfChartFile) throws IOException {
+        List<ChartPage> pages = new ArrayList<>();
+        try (PDDocument charts = PDDocument.load(pdfChartFile)) {
+            Splitter splitter = new Splitter();
+            List<PDDocument> raceCharts = splitter.split(charts);
+            for (int i = 0; i < raceCharts.size(); i++) {
+                try (PDDocument raceChart = raceCharts.get(i)) {
+                    pages.add(ChartParser.createChartPage(raceChart));
+                }
+            }
+        }
+        return pages;
+    }
+
+    private static List<ChartPage> extractFirstPage(PDDocument raceCharts) throws IOException {
+        try {
+            return Collections.singletonList(ChartParser.createChartPage(raceCharts, 1));
+        } finally {
+            raceCharts.close();
+        }
+    }
+
+    private static void benchmark(String name, int iterations, Extraction extraction)
+            throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            extraction.run();
+        }
+
+        System.gc();
+        long start = System.nanoTime();
+        int pages = 0;
+        for (int i = 0; i < iterations; i++) {
+            pages = extraction.run().size();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println(String.format("%-24s %3d pages  %8.2f ms/op", name, pages,
+                (double) elapsed / iterations / TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    @FunctionalInterface
+    private interface Extraction {
+        List<ChartPage> run() throws Exception;
+    }
+}
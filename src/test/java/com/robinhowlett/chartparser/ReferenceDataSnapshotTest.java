@@ -0,0 +1,76 @@
+package com.robinhowlett.chartparser;
+
+import com.robinhowlett.chartparser.fractionals.FractionalPointRepository;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCallRepository;
+import com.robinhowlett.chartparser.tracks.TrackRepository;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static com.robinhowlett.chartparser.ChartParser.getCsvMapper;
+import static com.robinhowlett.chartparser.ChartParser.getObjectMapper;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ReferenceDataSnapshotTest {
+
+    @Test
+    public void load_WithSnapshotOfResources_ReturnsSameReferenceDataAsResources()
+            throws Exception {
+        Optional<ReferenceDataSnapshot> snapshot = ReferenceDataSnapshot.load(
+                new ByteArrayInputStream(writeSnapshot()));
+
+        assertThat(snapshot.isPresent(), equalTo(true));
+        assertThat(snapshot.get().getTracks(),
+                equalTo(new TrackRepository(getCsvMapper()).findAll()));
+        assertThat(snapshot.get().getFractionalPoints(), equalTo(new ArrayList<>(
+                new FractionalPointRepository(getObjectMapper()).findAll())));
+        PointsOfCallRepository pointsOfCallRepository =
+                new PointsOfCallRepository(getObjectMapper());
+        for (String fileName : PointsOfCallRepository.FILENAMES) {
+            assertThat(snapshot.get().getPointsOfCallByFileName().get(fileName),
+                    equalTo(pointsOfCallRepository.findByFileName(fileName)));
+        }
+    }
+
+    @Test
+    public void load_WithChangedResource_ReturnsEmpty() throws Exception {
+        byte[] snapshot = writeSnapshot();
+        // the magic number, version, number of sources, and name of the first source precede the
+        // checksum of the first source (the track codes)
+        int checksum = 4 + 4 + 4 + 2 + TrackRepository.FILENAME.length();
+        snapshot[checksum + 7]++;
+
+        assertThat(ReferenceDataSnapshot.load(new ByteArrayInputStream(snapshot)).isPresent(),
+                equalTo(false));
+    }
+
+    @Test
+    public void load_WithOtherVersion_ReturnsEmpty() throws Exception {
+        byte[] snapshot = writeSnapshot();
+        snapshot[7]++;
+
+        assertThat(ReferenceDataSnapshot.load(new ByteArrayInputStream(snapshot)).isPresent(),
+                equalTo(false));
+    }
+
+    @Test
+    public void load_WithTruncatedSnapshot_ReturnsEmpty() throws Exception {
+        byte[] snapshot = writeSnapshot();
+
+        assertThat(ReferenceDataSnapshot.load(new ByteArrayInputStream(
+                Arrays.copyOf(snapshot, snapshot.length / 2))).isPresent(), equalTo(false));
+    }
+
+    private static byte[] writeSnapshot() throws Exception {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        ReferenceDataSnapshot.write(snapshot);
+        return snapshot.toByteArray();
+    }
+}
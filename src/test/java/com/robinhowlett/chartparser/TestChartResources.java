@@ -3,6 +3,7 @@ package com.robinhowlett.chartparser;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.robinhowlett.chartparser.charts.pdf.Breed;
 import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
 import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumnIndex;
 import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineHeader;
 import com.robinhowlett.chartparser.charts.pdf.wagering.WagerPayoffPools.ColumnRange;
@@ -59,7 +60,7 @@ public class TestChartResources {
 
     public List<File> getCsvChartsFiles() throws URISyntaxException, IOException {
         URI uri = getClass().getClassLoader().getResource("csv").toURI();
-        List<Path> files = Files.list(Paths.get(uri)).collect(Collectors.toList());
+        List<Path> files = Files.list(Paths.get(uri)).sorted().collect(Collectors.toList());
 
         List<File> csvChartsFiles = new ArrayList<>();
         for (Path path : files) {
@@ -108,6 +109,13 @@ public class TestChartResources {
         return ChartParser.separateIntoLines(chartCharacters);
     }
 
+    public ChartPage getSampleChartPage(int chartPageIndex) throws IOException,
+            URISyntaxException, ChartParserException {
+        List<ChartCharacter> chartCharacters =
+                ChartParser.convertToChartCharacters(getCsvChart(chartPageIndex));
+        return ChartParser.separateIntoLines(ChartPage.fromChartCharacters(chartCharacters));
+    }
+
     public List<List<ChartCharacter>> getRunningLineLines(int chartPageIndex) throws IOException,
             URISyntaxException, ChartParserException {
         return ChartParser.getRunningLines(getSampleChartLines(chartPageIndex));
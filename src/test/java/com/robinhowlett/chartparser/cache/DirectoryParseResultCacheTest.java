@@ -0,0 +1,48 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.ChartParser;
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class DirectoryParseResultCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void get_WithCachedSampleRaceResults_ReturnsEqualRaceResults() throws Exception {
+        List<RaceResult> raceResults =
+                ChartParser.create().parse(sampleCharts.getPdfChartsFile());
+        DirectoryParseResultCache cache =
+                new DirectoryParseResultCache(temporaryFolder.getRoot().toPath());
+
+        cache.put("abc-1", raceResults);
+        Optional<List<RaceResult>> cachedRaceResults = cache.get("abc-1");
+
+        assertThat(cachedRaceResults.isPresent(), equalTo(true));
+        assertThat(cachedRaceResults.get(),
+                equalTo(ChartParser.create().parse(sampleCharts.getPdfChartsFile())));
+    }
+
+    @Test
+    public void get_WithUnreadableFile_ReturnsEmpty() throws Exception {
+        DirectoryParseResultCache cache =
+                new DirectoryParseResultCache(temporaryFolder.getRoot().toPath());
+        Files.write(cache.getPath("abc-1"), "not json".getBytes());
+
+        assertThat(cache.get("abc-1").isPresent(), equalTo(false));
+    }
+}
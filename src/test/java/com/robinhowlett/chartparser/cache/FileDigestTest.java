@@ -0,0 +1,21 @@
+package com.robinhowlett.chartparser.cache;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class FileDigestTest {
+
+    @Test
+    public void sha256Hex_WithContent_ReturnsSha256Hex() throws Exception {
+        String hex = FileDigest.sha256Hex(
+                new ByteArrayInputStream("abc".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(hex, equalTo(
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"));
+    }
+}
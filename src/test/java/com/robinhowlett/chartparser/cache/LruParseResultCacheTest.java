@@ -0,0 +1,44 @@
+package com.robinhowlett.chartparser.cache;
+
+import com.robinhowlett.chartparser.charts.pdf.RaceResult;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class LruParseResultCacheTest {
+
+    @Test
+    public void put_WhenFull_EvictsLeastRecentlyUsed() throws Exception {
+        List<RaceResult> raceResults = Collections.singletonList(new RaceResult.Builder().build());
+        LruParseResultCache cache = new LruParseResultCache(2);
+        cache.put("a", raceResults);
+        cache.put("b", raceResults);
+
+        // "a" is now more recently used than "b"
+        cache.get("a");
+        cache.put("c", raceResults);
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.get("a").isPresent(), equalTo(true));
+        assertThat(cache.get("b").isPresent(), equalTo(false));
+        assertThat(cache.get("c").get(), equalTo(raceResults));
+    }
+
+    @Test
+    public void get_WithCachedResults_ReturnsCopyOfList() throws Exception {
+        List<RaceResult> raceResults = new ArrayList<>();
+        raceResults.add(new RaceResult.Builder().build());
+        LruParseResultCache cache = new LruParseResultCache(1);
+        cache.put("a", raceResults);
+
+        cache.get("a").get().clear();
+
+        assertThat(cache.get("a").get().size(), equalTo(1));
+    }
+}
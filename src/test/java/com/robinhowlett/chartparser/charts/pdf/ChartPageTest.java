@@ -0,0 +1,112 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class ChartPageTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void fromLines_WithTwoLines_StoresCharactersAndLineRanges() throws Exception {
+        ChartCharacter a = sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A');
+        ChartCharacter b = sampleCharts.getSampleChartCharacter(9.92, 40.63, 'B');
+        ChartCharacter c = sampleCharts.getSampleChartCharacter(19.84, 40.63, 'C');
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(Arrays.asList(a));
+        lines.add(Arrays.asList(b, c));
+
+        ChartPage page = ChartPage.fromLines(lines);
+
+        assertThat(page.size(), equalTo(3));
+        assertThat(page.getLineCount(), equalTo(2));
+        assertThat(page.getLineStart(1), equalTo(1));
+        assertThat(page.getLineEnd(1), equalTo(3));
+        assertThat(page.getChartCharacter(2), equalTo(c));
+        assertThat(page.getLines(), equalTo(lines));
+    }
+
+    @Test
+    public void addAll_WithRangeOfAnotherPage_AppendsThoseCharacters() throws Exception {
+        ChartPage other = new ChartPage(1);
+        other.add(sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A'));
+        other.add(sampleCharts.getSampleChartCharacter(15.696, 31.63, 'B'));
+        other.add(sampleCharts.getSampleChartCharacter(21.472, 31.63, 'C'));
+
+        ChartPage page = new ChartPage(1);
+        page.add(sampleCharts.getSampleChartCharacter(9.92, 20.0, 'Z'));
+        page.addAll(other, 1, 3);
+
+        assertThat(page.size(), equalTo(3));
+        assertThat(page.getUnicode(1), equalTo('B'));
+        assertThat(page.getChartCharacter(2), equalTo(other.getChartCharacter(2)));
+        assertThat(page.getLineEnd(0), equalTo(3));
+    }
+
+    @Test
+    public void addLines_WithContinuedLastLine_JoinsFirstLineOfOtherPage() throws Exception {
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A')));
+        lines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(9.92, 40.63, 'B')));
+        List<List<ChartCharacter>> otherLines = new ArrayList<>();
+        otherLines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(15.696, 40.63, 'C')));
+        otherLines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(9.92, 49.63, 'D')));
+
+        ChartPage joined = ChartPage.fromLines(lines);
+        joined.addLines(ChartPage.fromLines(otherLines), true);
+        ChartPage separate = ChartPage.fromLines(lines);
+        separate.addLines(ChartPage.fromLines(otherLines), false);
+
+        assertThat(joined.getLineCount(), equalTo(3));
+        assertThat(joined.getLineText(1), equalTo("BC"));
+        assertThat(separate.getLineCount(), equalTo(4));
+        assertThat(separate.getLineText(2), equalTo("C"));
+        assertThat(separate.getLineEnd(3), equalTo(4));
+    }
+
+    @Test
+    public void getLineText_WithRepeatedCalls_ConvertsLineOnce() throws Exception {
+        ChartPage page = sampleCharts.getSampleChartPage(0);
+
+        String text = page.getLineText(2);
+
+        assertThat(page.getLineText(2), sameInstance(text));
+        assertThat(text, equalTo(Chart.convertToText(page.getLine(2))));
+    }
+
+    @Test
+    public void getLineText_AfterAddingCharacters_ConvertsLineAgain() throws Exception {
+        ChartPage page = new ChartPage(1);
+        page.add(sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A'));
+        assertThat(page.getLineText(0), equalTo("A"));
+
+        page.add(sampleCharts.getSampleChartCharacter(12.144, 31.63, 'B'));
+        assertThat(page.getLineText(0), equalTo("AB"));
+
+        page.setLineStarts(new int[]{0, 1}, 2);
+        assertThat(page.getLineText(0), equalTo("A"));
+        assertThat(page.getLineText(1), equalTo("B"));
+    }
+
+    @Test
+    public void getLineYDirAdj_WithTwoLines_ReturnsPositionOfFirstCharacter() throws Exception {
+        List<List<ChartCharacter>> lines = new ArrayList<>();
+        lines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A')));
+        lines.add(Arrays.asList(sampleCharts.getSampleChartCharacter(9.92, 40.63, 'B'),
+                sampleCharts.getSampleChartCharacter(12.144, 42.63, 'C')));
+
+        ChartPage page = ChartPage.fromLines(lines);
+
+        assertThat(page.getLineYDirAdj(0), equalTo(31.63));
+        assertThat(page.getLineYDirAdj(1), equalTo(40.63));
+    }
+}
@@ -2,16 +2,26 @@ package com.robinhowlett.chartparser.charts.pdf;
 
 import com.robinhowlett.chartparser.TestChartResources;
 
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static com.robinhowlett.chartparser.charts.pdf.Chart.addWhitespaceIfRequired;
 import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
+import static com.robinhowlett.chartparser.charts.pdf.Chart.fromThousandths;
+import static com.robinhowlett.chartparser.charts.pdf.Chart.toThousandths;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertThat;
 
 public class ChartTest {
@@ -42,6 +52,20 @@ public class ChartTest {
         assertThat(text, equalTo("A" + System.lineSeparator() + "BC|DE"));
     }
 
+    @Test
+    public void convertToText_WithChartPageRange_PrintsOnlyTheRange() throws Exception {
+        ChartPage page = new ChartPage();
+        page.add(sampleCharts.getSampleChartCharacter(9.92, 31.63, 'A'));
+        page.add(sampleCharts.getSampleChartCharacter(12.144, 40.63, 'B'));
+        page.add(sampleCharts.getSampleChartCharacter(14.368, 40.63, 'C'));
+        page.add(sampleCharts.getSampleChartCharacter(43.256, 40.63, 'D'));
+        page.add(sampleCharts.getSampleChartCharacter(45.48, 42.63, 'E'));
+
+        assertThat(convertToText(page, 0, page.size()),
+                equalTo("A" + System.lineSeparator() + "BC|DE"));
+        assertThat(convertToText(page, 1, 4), equalTo("BC|D"));
+    }
+
     @Test
     public void addWhitespaceIfRequired_WithAdjacentCharacters_ReturnsNoAdditionalSpacing()
             throws Exception {
@@ -58,4 +82,140 @@ public class ChartTest {
             throws Exception {
         assertThat(addWhitespaceIfRequired(102.168, 95.72, 2.224), equalTo(PIPE));
     }
+
+    @Test
+    public void toThousandths_WithTies_RoundsHalfUp() throws Exception {
+        assertThat(toThousandths(31.630505), equalTo(31631));
+        assertThat(toThousandths(1.0005), equalTo(1001));
+        assertThat(toThousandths(-1.0005), equalTo(-1001));
+        assertThat(toThousandths(0.0005), equalTo(1));
+        assertThat(toThousandths(0.00049999), equalTo(0));
+        assertThat(toThousandths(1234567.8885), equalTo(1234567889));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void toThousandths_WithNaN_ThrowsArithmeticException() throws Exception {
+        toThousandths(Double.NaN);
+    }
+
+    @Test
+    public void toThousandths_WithRandomValues_MatchesRound() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            // a mix of arbitrary values and values on, or one ulp either side of, a tie
+            double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(7));
+            if (i % 2 == 0) {
+                value = (Math.floor(value * 1000) + 0.5) / 1000;
+                value = (i % 3 == 0 ? Math.nextUp(value) : (i % 3 == 1 ? value :
+                        Math.nextDown(value)));
+            }
+
+            assertMatchesRound(value);
+        }
+    }
+
+    @Test
+    public void toThousandths_WithEachFixtureValue_MatchesRound() throws Exception {
+        List<float[]> values = getFixtureTextPositions();
+        assertThat(values.size(), greaterThan(0));
+
+        for (float[] textPosition : values) {
+            for (float value : textPosition) {
+                assertMatchesRound(value);
+            }
+        }
+    }
+
+    @Test
+    public void addWhitespaceIfRequired_WithEachFixtureCharacterPair_MatchesBigDecimalSpacing()
+            throws Exception {
+        List<float[]> values = getFixtureTextPositions();
+
+        // every pair of characters near each other on a page, in both orders
+        for (int curr = 0; curr < values.size(); curr++) {
+            for (int prev = Math.max(0, curr - 64); prev < Math.min(values.size(), curr + 64);
+                 prev++) {
+                double currXDir = values.get(curr)[0];
+                double prevXDir = values.get(prev)[0];
+                double prevWidthDirAdj = values.get(prev)[6];
+
+                assertThat(addWhitespaceIfRequired(currXDir, prevXDir, prevWidthDirAdj),
+                        equalTo(addWhitespaceWithBigDecimal(currXDir, prevXDir, prevWidthDirAdj)));
+            }
+        }
+    }
+
+    @Test
+    public void convertToText_WithEachFixturePage_MatchesBigDecimalSpacing() throws Exception {
+        for (int i = 0; i < sampleCharts.getCsvChartsFiles().size(); i++) {
+            ChartPage page = sampleCharts.getSampleChartPage(i);
+            for (int line = 0; line < page.getLineCount(); line++) {
+                List<ChartCharacter> characters = page.getLine(line);
+
+                StringBuilder expected = new StringBuilder();
+                for (int curr = 0; curr < characters.size(); curr++) {
+                    ChartCharacter chartCharacter = characters.get(curr);
+                    if (curr > 0) {
+                        ChartCharacter prev = characters.get(curr - 1);
+                        expected.append(addWhitespaceWithBigDecimal(chartCharacter.getxDirAdj(),
+                                prev.getxDirAdj(), prev.getWidthDirAdj()));
+                        if (Math.abs(chartCharacter.getyDirAdj() - prev.getyDirAdj()) > 4) {
+                            expected.append(System.lineSeparator());
+                        }
+                    }
+                    expected.append(chartCharacter.getUnicode());
+                }
+
+                assertThat(page.getLineText(line), equalTo(expected.toString()));
+                assertThat(convertToText(characters), equalTo(expected.toString()));
+            }
+        }
+    }
+
+    private static void assertMatchesRound(double value) {
+        BigDecimal rounded = Chart.round(value);
+
+        assertThat(String.valueOf(value), toThousandths(value),
+                equalTo(rounded.unscaledValue().intValueExact()));
+        assertThat(String.valueOf(value), fromThousandths(toThousandths(value)),
+                equalTo(rounded.doubleValue()));
+    }
+
+    // how the spacing was calculated before it used thousandths
+    private static String addWhitespaceWithBigDecimal(double currXDir, double prevXDir,
+            double prevWidthDirAdj) {
+        BigDecimal spacing = Chart.round(currXDir)
+                .subtract(Chart.round(prevXDir).add(Chart.round(prevWidthDirAdj)));
+        if (spacing.compareTo(new BigDecimal(0.001)) > 0 && spacing.compareTo(Chart.THREE) <= 0) {
+            return SPACE;
+        } else if (spacing.compareTo(Chart.THREE) > 0) {
+            return PIPE;
+        }
+        return NO_SPACE;
+    }
+
+    // the unrounded positions and sizes of every character of every fixture PDF
+    private List<float[]> getFixtureTextPositions() throws Exception {
+        List<float[]> values = new ArrayList<>();
+        PDFTextStripper stripper = new PDFTextStripper() {
+            @Override
+            protected void writeString(String text, List<TextPosition> textPositions)
+                    throws IOException {
+                for (TextPosition textPosition : textPositions) {
+                    values.add(new float[]{textPosition.getXDirAdj(),
+                            textPosition.getYDirAdj(), textPosition.getFontSize(),
+                            textPosition.getXScale(), textPosition.getHeightDir(),
+                            textPosition.getWidthOfSpace(), textPosition.getWidthDirAdj()});
+                }
+            }
+        };
+        stripper.setSortByPosition(true);
+
+        for (File pdfChartFile : sampleCharts.getPdfChartsFiles()) {
+            try (PDDocument raceCharts = PDDocument.load(pdfChartFile)) {
+                stripper.writeText(raceCharts, new StringWriter());
+            }
+        }
+        return values;
+    }
 }
@@ -0,0 +1,52 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class KeywordMatcherTest {
+
+    private static final long HE = 1;
+    private static final long SHE = 2;
+    private static final long HIS = 4;
+    private static final long HERS = 8;
+
+    private KeywordMatcher matcher = createMatcher();
+
+    @Test
+    public void match_WithOverlappingKeywords_FindsEachKeyword() throws Exception {
+        assertThat(matcher.match("ushers"), equalTo(HE | SHE | HERS));
+        assertThat(matcher.match("this"), equalTo(HIS));
+    }
+
+    @Test
+    public void match_WithPartialKeywords_FindsNothing() throws Exception {
+        assertThat(matcher.match("hi sh her"), equalTo(HE));
+        assertThat(matcher.match(""), equalTo(0L));
+    }
+
+    @Test
+    public void match_WithCharactersInNoKeyword_RestartsMatching() throws Exception {
+        assertThat(matcher.match("shé s|he"), equalTo(HE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void new_WithNonAsciiKeyword_ThrowsIllegalArgumentException() throws Exception {
+        Map<String, Long> keywordMasks = new HashMap<>();
+        keywordMasks.put("café", 1L);
+        new KeywordMatcher(keywordMasks);
+    }
+
+    private static KeywordMatcher createMatcher() {
+        Map<String, Long> keywordMasks = new HashMap<>();
+        keywordMasks.put("he", HE);
+        keywordMasks.put("she", SHE);
+        keywordMasks.put("his", HIS);
+        keywordMasks.put("hers", HERS);
+        return new KeywordMatcher(keywordMasks);
+    }
+}
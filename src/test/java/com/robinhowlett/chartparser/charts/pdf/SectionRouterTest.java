@@ -0,0 +1,73 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.SectionRouter.Section;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class SectionRouterTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void getLines_WithEachSamplePage_MatchesLinesContainingKeywords() throws Exception {
+        for (int i = 0; i < sampleCharts.getCsvChartsFiles().size(); i++) {
+            ChartPage page = sampleCharts.getSampleChartPage(i);
+            SectionRouter router = new SectionRouter(page);
+
+            for (Section section : Section.values()) {
+                List<Integer> expected = new ArrayList<>();
+                for (int line = 0; line < page.getLineCount(); line++) {
+                    for (String keyword : section.getKeywords()) {
+                        if (page.getLineText(line).contains(keyword)) {
+                            expected.add(line);
+                            break;
+                        }
+                    }
+                }
+
+                assertThat(section.name(), toList(router.getLines(section)), equalTo(expected));
+            }
+        }
+    }
+
+    @Test
+    public void getSectionLines_WithSamplePage_FindsTrainersLine() throws Exception {
+        ChartPage page = sampleCharts.getSampleChartPage(0);
+
+        int[] lines = page.getSectionLines(Section.TRAINERS);
+
+        assertThat(toList(lines).size(), equalTo(1));
+        assertThat(page.getLineText(lines[0]), startsWith("Trainers:|"));
+    }
+
+    @Test
+    public void findSectionLine_WithPredicate_ReturnsFirstSatisfyingLine() throws Exception {
+        ChartPage page = sampleCharts.getSampleChartPage(0);
+
+        int runUp = page.findSectionLine(Section.RUNNING_LINES,
+                text -> text.startsWith("Run-Up:"));
+
+        assertThat(page.getLineText(runUp), startsWith("Run-Up:"));
+        for (int line = 0; line < runUp; line++) {
+            assertThat(page.getLineText(line).startsWith("Run-Up:"), equalTo(false));
+        }
+        assertThat(page.findSectionLine(Section.RUNNING_LINES, text -> false),
+                equalTo(page.getLineCount()));
+    }
+
+    private static List<Integer> toList(int[] lines) {
+        List<Integer> list = new ArrayList<>();
+        for (int line : lines) {
+            list.add(line);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,75 @@
+package com.robinhowlett.chartparser.charts.pdf;
+
+import com.robinhowlett.chartparser.charts.pdf.running_line.HorseJockey;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class StarterIndexTest {
+
+    private Starter first = starter("7", "Prater Sixty Four");
+    private Starter second = starter("8", "Candy Sweetheart");
+    private Starter third = starter("3", "Prater Sixty Four");
+    private Starter fourth = starter(null, "Midnightwithdrawal");
+
+    private StarterIndex starterIndex =
+            new StarterIndex(Arrays.asList(first, second, third, fourth));
+
+    @Test
+    public void findFirstByProgram_WithProgram_ReturnsStarter() throws Exception {
+        assertThat(starterIndex.findFirstByProgram("3"), sameInstance(third));
+        assertThat(starterIndex.findFirstByProgram("1A"), nullValue());
+        assertThat(starterIndex.findFirstByProgram(null), nullValue());
+    }
+
+    @Test
+    public void findAllByHorseName_WithSharedName_ReturnsStartersInOrder() throws Exception {
+        assertThat(starterIndex.findAllByHorseName("Prater Sixty Four"), contains(first, third));
+        assertThat(starterIndex.findFirstByHorse(new Horse("Prater Sixty Four")),
+                sameInstance(first));
+        assertThat(starterIndex.findAllByHorseName(null), empty());
+    }
+
+    @Test
+    public void findFirst_WithProgramOrName_ReturnsFirstStarterMatchingEither() throws Exception {
+        assertThat(starterIndex.findFirst("3", "Candy Sweetheart"), sameInstance(second));
+        assertThat(starterIndex.findFirst("7", "Candy Sweetheart"), sameInstance(first));
+        assertThat(starterIndex.findFirst(null, "Midnightwithdrawal"), sameInstance(fourth));
+        assertThat(starterIndex.findFirst("9", (Horse) null), nullValue());
+    }
+
+    @Test
+    public void findAll_WithProgramAndName_ReturnsEachMatchingStarterOnceInOrder()
+            throws Exception {
+        assertThat(starterIndex.findAll("3", "Prater Sixty Four"), contains(first, third));
+        assertThat(starterIndex.findAll("8", new Horse("Midnightwithdrawal")),
+                contains(second, fourth));
+        assertThat(starterIndex.findAll(null, (String) null), empty());
+    }
+
+    @Test
+    public void findFirst_WithEqualStarters_DistinguishesThemByIdentity() throws Exception {
+        Starter copy = starter("7", "Prater Sixty Four");
+        List<Starter> starters = Arrays.asList(starter("7", "Prater Sixty Four"), copy);
+        StarterIndex equalStarters = new StarterIndex(starters);
+
+        assertThat(equalStarters.findFirst("7", "Prater Sixty Four"),
+                sameInstance(starters.get(0)));
+        assertThat(new StarterIndex(Collections.singletonList(copy)).findFirstByProgram("7"),
+                sameInstance(copy));
+    }
+
+    private static Starter starter(String program, String horseName) {
+        return new Starter.Builder().program(program).horseAndJockey(
+                new HorseJockey(new Horse(horseName), new Jockey("Karlo", "Lopez"))).build();
+    }
+}
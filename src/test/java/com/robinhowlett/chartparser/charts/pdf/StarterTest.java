@@ -1,5 +1,6 @@
 package com.robinhowlett.chartparser.charts.pdf;
 
+import com.robinhowlett.chartparser.ChartParser;
 import com.robinhowlett.chartparser.TestChartResources;
 import com.robinhowlett.chartparser.charts.pdf.DistanceSurfaceTrackRecord.RaceDistance;
 import com.robinhowlett.chartparser.charts.pdf.running_line.HorseJockey;
@@ -7,10 +8,14 @@ import com.robinhowlett.chartparser.charts.pdf.running_line.LastRaced;
 import com.robinhowlett.chartparser.charts.pdf.running_line.LastRaced.LastRacePerformance;
 import com.robinhowlett.chartparser.charts.pdf.running_line.MedicationEquipment;
 import com.robinhowlett.chartparser.charts.pdf.running_line.Odds;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineColumns;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineHeader;
+import com.robinhowlett.chartparser.charts.pdf.running_line.RunningLineRow;
 import com.robinhowlett.chartparser.charts.pdf.running_line.Weight;
 import com.robinhowlett.chartparser.points_of_call.PointsOfCall;
 import com.robinhowlett.chartparser.points_of_call.PointsOfCallService;
 import com.robinhowlett.chartparser.tracks.Track;
+import com.robinhowlett.chartparser.tracks.TrackRepository;
 import com.robinhowlett.chartparser.tracks.TrackService;
 
 import org.junit.Test;
@@ -22,6 +27,7 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static com.robinhowlett.chartparser.charts.pdf.running_line.MedicationEquipment.Equipment
@@ -102,6 +108,30 @@ public class StarterTest {
         verify(pointsOfCallService).getPointsOfCallForDistance(breed, raceDistance);
     }
 
+    @Test
+    public void parseRunningLineData_WithSampleRunningLineRow_UpdatesStarterCorrectly()
+            throws Exception {
+        trackService = new TrackService(new TrackRepository(ChartParser.getCsvMapper()));
+        PointsOfCall pointsOfCall = sampleCharts.getPointsOfCall(breed, raceDistance.getValue());
+        pointsOfCallService = new PointsOfCallService(null) {
+            @Override
+            public PointsOfCall getPointsOfCallForDistance(Breed breed,
+                    RaceDistance raceDistance) {
+                return pointsOfCall;
+            }
+        };
+
+        List<List<ChartCharacter>> runningLines = sampleCharts.getRunningLineLines(chartPageIndex);
+        RunningLineRow runningLineRow = new RunningLineColumns(
+                RunningLineHeader.createIndexOfRunningLineColumns(runningLines.get(0)))
+                .newGrouping().groupRow(runningLines.get(starterIndex));
+
+        Starter starter = Starter.parseRunningLineData(runningLineRow, raceDate, breed,
+                raceDistance, trackService, pointsOfCallService);
+
+        assertThat(starter, equalTo(expected));
+    }
+
     public static Starter expectedThoroughbredStarter() {
         Track track = new Track();
         track.setCode("ARP");
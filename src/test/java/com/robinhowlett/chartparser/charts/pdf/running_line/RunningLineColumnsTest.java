@@ -0,0 +1,129 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static com.robinhowlett.chartparser.charts.pdf.Chart.convertToText;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RunningLineColumnsTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void getColumn_WithValuesAroundEachStart_ReturnsColumnOfGreatestStartNotExceedingIt()
+            throws Exception {
+        RunningLineColumns columns = new RunningLineColumns(Arrays.asList(
+                new RunningLineColumnIndex("Pgm", 69.623),
+                new RunningLineColumnIndex("LastRaced", 9.92),
+                new RunningLineColumnIndex("Duplicate", 9.92),
+                new RunningLineColumnIndex("Wgt", 249.092)));
+
+        assertThat(columns.getColumnCount(), equalTo(3));
+        assertThat(columns.getColumn(9.919), equalTo(-1));
+        assertThat(columns.getColumn(9.92), equalTo(0));
+        assertThat(columns.getColumnHeader(0), equalTo("LastRaced"));
+        assertThat(columns.getColumn(69.622), equalTo(0));
+        assertThat(columns.getColumn(69.623), equalTo(1));
+        assertThat(columns.getColumn(249.091), equalTo(1));
+        assertThat(columns.getColumn(1000), equalTo(2));
+        assertThat(columns.getColumnHeader(2), equalTo("Wgt"));
+    }
+
+    @Test
+    public void group_WithEveryRunningLineOfSampleCharts_MatchesTreeSetFloorGrouping()
+            throws Exception {
+        int runningLines = 0;
+        for (int page = 0; page < sampleCharts.getCsvChartsFiles().size(); page++) {
+            List<List<ChartCharacter>> lines;
+            TreeSet<RunningLineColumnIndex> columnIndices;
+            try {
+                lines = sampleCharts.getRunningLineLines(page);
+                columnIndices = RunningLineHeader.createIndexOfRunningLineColumns(lines.get(0));
+            } catch (ChartParserException | RuntimeException e) {
+                continue; // e.g. a cancelled race
+            }
+
+            // reused for every running line of the race
+            RunningLineColumns.Grouping grouping =
+                    new RunningLineColumns(columnIndices).newGrouping();
+            for (List<ChartCharacter> line : lines.subList(1, lines.size())) {
+                Map<String, List<ChartCharacter>> expected = groupWithTreeSet(columnIndices, line);
+                Map<String, List<ChartCharacter>> actual = grouping.group(line);
+
+                assertThat(actual, equalTo(expected));
+                assertThat(new ArrayList<>(actual.keySet()),
+                        equalTo(new ArrayList<>(expected.keySet())));
+                runningLines++;
+            }
+        }
+        assertThat(runningLines, greaterThan(50));
+    }
+
+    @Test
+    public void group_AfterCharacterBeforeFirstColumn_GroupsNextRunningLine() throws Exception {
+        RunningLineColumns.Grouping grouping = new RunningLineColumns(
+                sampleCharts.getRunningLineColumnIndices()).newGrouping();
+        List<ChartCharacter> winningRunningLine = sampleCharts.getRunningLineLines(0).get(1);
+
+        List<ChartCharacter> invalid = new ArrayList<>(winningRunningLine);
+        invalid.add(sampleCharts.getSampleChartCharacter(1, 100, 'x'));
+        try {
+            grouping.group(invalid);
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        TreeSet<RunningLineColumnIndex> columnIndices =
+                new TreeSet<>(new RunningLineHeader.RunningLineHeaderComparator());
+        columnIndices.addAll(sampleCharts.getRunningLineColumnIndices());
+        assertThat(grouping.group(winningRunningLine),
+                equalTo(groupWithTreeSet(columnIndices, winningRunningLine)));
+    }
+
+    @Test
+    public void groupRow_WithWinningRunningLine_ResolvesEachColumn() throws Exception {
+        RunningLineColumns.Grouping grouping = new RunningLineColumns(
+                sampleCharts.getRunningLineColumnIndices()).newGrouping();
+
+        RunningLineRow row = grouping.groupRow(sampleCharts.getRunningLineLines(0).get(1));
+
+        assertThat(row.size(), equalTo(13));
+        assertThat(convertToText(row.get(RunningLineColumn.WEIGHT)), equalTo("124"));
+        assertThat(convertToText(row.get(RunningLineColumn.LAST_RACED)),
+                equalTo("19Jun16 3ARP6"));
+        assertThat(row.getColumn(0), equalTo(RunningLineColumn.LAST_RACED));
+        assertThat(row.getColumnHeader(6), equalTo("Start"));
+        assertThat(row.getColumn(6), equalTo(RunningLineColumn.POINT_OF_CALL));
+        assertThat(row.get(RunningLineColumn.INDIVIDUAL_TIME), nullValue());
+    }
+
+    // how characters were grouped before the column layout
+    private static Map<String, List<ChartCharacter>> groupWithTreeSet(
+            TreeSet<RunningLineColumnIndex> columnIndices, List<ChartCharacter> runningLine) {
+        Map<String, List<ChartCharacter>> charactersByColumn = new LinkedHashMap<>();
+        for (ChartCharacter chartCharacter : runningLine) {
+            String columnHeader = columnIndices.floor(
+                    new RunningLineColumnIndex(chartCharacter.getxDirAdj())).getColumnHeader();
+            charactersByColumn.computeIfAbsent(columnHeader, header -> new ArrayList<>())
+                    .add(chartCharacter);
+        }
+        return charactersByColumn;
+    }
+}
@@ -6,6 +6,7 @@ import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -97,6 +98,14 @@ public class RunningLineHeaderTest {
         assertThat(runningLineHeaderSuffix.getHeaderSuffixCharacters().size(), equalTo(15));
     }
 
+    @Test
+    public void getHeaderSuffixColumns_WithQuarterHorseSuffix_ReturnsEachColumn() throws Exception {
+        RunningLineHeaderSuffix runningLineHeaderSuffix =
+                new RunningLineHeaderSuffix("FinOddsInd.TimeSp.In.Comments", new ArrayList<>());
+        assertThat(runningLineHeaderSuffix.getHeaderSuffixColumns(),
+                equalTo(new String[]{"Fin", "Odds", "Ind.Time", "Sp.In.", "Comments"}));
+    }
+
     @Test
     public void populateHeaderColumnsWithInRaceRunningLine_WithTruncatedHeader_CreatesColumns()
             throws Exception {
@@ -0,0 +1,82 @@
+package com.robinhowlett.chartparser.charts.pdf.running_line;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+import com.robinhowlett.chartparser.exceptions.ChartParserException;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class RunningLineLayoutCacheTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+    private RunningLineLayoutCache cache = new RunningLineLayoutCache();
+
+    @Test
+    public void getColumns_WithEveryHeaderOfSampleCharts_GroupsAsAnalysedHeaders()
+            throws Exception {
+        int headers = 0;
+        for (int page = 0; page < sampleCharts.getCsvChartsFiles().size(); page++) {
+            List<List<ChartCharacter>> lines;
+            RunningLineColumns expected;
+            try {
+                lines = sampleCharts.getRunningLineLines(page);
+                expected = new RunningLineColumns(RunningLineHeader
+                        .createIndexOfRunningLineColumns(sampleCharts.getRunningLineLines(page)
+                                .get(0)));
+            } catch (ChartParserException | RuntimeException e) {
+                continue; // e.g. a cancelled race
+            }
+
+            RunningLineColumns columns = cache.getColumns(lines.get(0));
+            headers++;
+
+            RunningLineColumns.Grouping expectedGrouping = expected.newGrouping();
+            RunningLineColumns.Grouping grouping = columns.newGrouping();
+            for (List<ChartCharacter> runningLine : lines.subList(1, lines.size())) {
+                assertThat(grouping.group(runningLine),
+                        equalTo(expectedGrouping.group(runningLine)));
+            }
+        }
+
+        assertThat(headers, greaterThan(1));
+        assertThat(cache.getHits() + cache.getMisses(), equalTo((long) headers));
+        assertThat(cache.getMisses(), equalTo((long) cache.size()));
+        // the sample races share headers
+        assertThat(cache.getMisses(), lessThan((long) headers));
+    }
+
+    @Test
+    public void getColumns_WithSameHeaderTwice_ReturnsSharedLayout() throws Exception {
+        RunningLineColumns first = cache.getColumns(sampleCharts.getRunningLineLines(0).get(0));
+        RunningLineColumns second = cache.getColumns(sampleCharts.getRunningLineLines(0).get(0));
+
+        assertThat(second, sameInstance(first));
+        assertThat(cache.getHits(), equalTo(1L));
+        assertThat(cache.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void getColumns_WithHeaderMovedSlightly_AnalysesHeaderAgain() throws Exception {
+        RunningLineColumns first = cache.getColumns(sampleCharts.getRunningLineLines(0).get(0));
+
+        List<ChartCharacter> moved = sampleCharts.getRunningLineLines(0).get(0);
+        for (ChartCharacter character : moved) {
+            character.setxDirAdj(character.getxDirAdj() + 0.001);
+        }
+        RunningLineColumns second = cache.getColumns(moved);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(cache.getHits(), equalTo(0L));
+        assertThat(cache.getMisses(), equalTo(2L));
+        assertThat(cache.size(), equalTo(2));
+    }
+}
@@ -0,0 +1,83 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.EOFException;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ByteBufferRandomAccessReadTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void read_WithBytesSpanningChunks_ReadsBytesInOrder() throws Exception {
+        try (ByteBufferRandomAccessRead read = ByteBufferRandomAccessRead.map(createFile(10), 4)) {
+            assertThat(read.length(), equalTo(10L));
+            assertThat(read.read(), equalTo(0));
+
+            byte[] bytes = new byte[6];
+            assertThat(read.read(bytes), equalTo(6));
+            assertThat(bytes, equalTo(new byte[]{1, 2, 3, 4, 5, 6}));
+
+            assertThat(read.read(bytes), equalTo(3));
+            assertThat(read.read(), equalTo(-1));
+            assertThat(read.isEOF(), is(true));
+        }
+    }
+
+    @Test
+    public void seek_WithPositionInLaterChunk_PeeksAndRewinds() throws Exception {
+        try (ByteBufferRandomAccessRead read = ByteBufferRandomAccessRead.map(createFile(10), 4)) {
+            read.seek(5);
+            assertThat(read.peek(), equalTo(5));
+            assertThat(read.getPosition(), equalTo(5L));
+            assertThat(read.readFully(4), equalTo(new byte[]{5, 6, 7, 8}));
+
+            read.rewind(6);
+            assertThat(read.read(), equalTo(3));
+            assertThat(read.available(), equalTo(6));
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void readFully_BeyondEndOfFile_ThrowsEOFException() throws Exception {
+        try (ByteBufferRandomAccessRead read = ByteBufferRandomAccessRead.map(createFile(10), 4)) {
+            read.seek(8);
+            read.readFully(3);
+        }
+    }
+
+    @Test
+    public void read_WithBufferFromPosition_ReadsRemainingBytesWithoutMovingBuffer()
+            throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(6);
+        buffer.put(new byte[]{0, 1, 2, 3, 4, 5}).flip();
+        buffer.position(2);
+
+        try (ByteBufferRandomAccessRead read = new ByteBufferRandomAccessRead(buffer)) {
+            assertThat(read.length(), equalTo(4L));
+            assertThat(read.readFully(4), equalTo(new byte[]{2, 3, 4, 5}));
+            assertThat(read.isEOF(), is(true));
+        }
+        assertThat(buffer.position(), equalTo(2));
+    }
+
+    private File createFile(int length) throws Exception {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) i;
+        }
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), bytes);
+        return file;
+    }
+}
@@ -0,0 +1,44 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartCharacterStreamEngineTest {
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void stripChartPage_WithEachSamplePage_MatchesCsvChartCharacters() throws Exception {
+        try (PDDocument raceCharts = sampleCharts.getCharts()) {
+            assertThat(raceCharts.getNumberOfPages(),
+                    equalTo(sampleCharts.getCsvChartsFiles().size()));
+
+            ChartCharacterStreamEngine engine = new ChartCharacterStreamEngine();
+            for (int i = 0; i < raceCharts.getNumberOfPages(); i++) {
+                ChartPage expected = sampleCharts.getSampleChartPage(i);
+
+                ChartPage page = engine.stripChartPage(raceCharts, i + 1);
+
+                assertThat(page.getChartCharacters(0, page.size()),
+                        equalTo(expected.getChartCharacters(0, expected.size())));
+            }
+        }
+    }
+
+    @Test
+    public void stripChartPage_WithWholeDocument_MatchesChartCharacterStripper() throws Exception {
+        try (PDDocument raceCharts = sampleCharts.getCharts()) {
+            ChartPage expected = new ChartCharacterStripper().stripChartPage(raceCharts);
+
+            ChartPage page = new ChartCharacterStreamEngine().stripChartPage(raceCharts);
+
+            assertThat(page, equalTo(expected));
+        }
+    }
+}
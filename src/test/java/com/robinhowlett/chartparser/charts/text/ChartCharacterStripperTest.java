@@ -0,0 +1,46 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.charts.pdf.ChartCharacter;
+
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartCharacterStripperTest {
+
+    @Test
+    public void toChartCharacter_WithSampleTextPosition_CreatesRoundedChartCharacter()
+            throws Exception {
+        ChartCharacter expected = new ChartCharacter();
+        expected.setxDirAdj(7.0);
+        expected.setyDirAdj(-6.0);
+        expected.setFontSize(14.0);
+        expected.setxScale(5.0);
+        expected.setHeight(11.0);
+        expected.setWidthOfSpace(13.0);
+        expected.setWidthDirAdj(2.0);
+        expected.setUnicode('A');
+
+        ChartCharacter chartCharacter =
+                ChartCharacterStripper.toChartCharacter(sampleTextPosition("A"));
+
+        assertThat(chartCharacter, equalTo(expected));
+    }
+
+    @Test
+    public void toChartCharacter_WithWhitespaceTextPosition_UsesNullCharacter() throws Exception {
+        ChartCharacter chartCharacter =
+                ChartCharacterStripper.toChartCharacter(sampleTextPosition(" "));
+
+        assertThat(chartCharacter.getUnicode(), equalTo('\0'));
+    }
+
+    private TextPosition sampleTextPosition(String unicode) {
+        return new TextPosition(0, 1f, 2f, new Matrix(3f, 4f, 5f, 6f, 7f, 8f),
+                9f, 10f, 11f, 12f, 13f, unicode, null, null,
+                14f, 15);
+    }
+}
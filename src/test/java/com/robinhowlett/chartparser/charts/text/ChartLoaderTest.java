@@ -0,0 +1,62 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void load_WithTempFileAndMemoryMapping_ExtractsSameCharacters() throws Exception {
+        ChartLoader loader = new ChartLoader.Builder()
+                .memoryUsageSetting(MemoryUsageSetting.setupTempFileOnly()
+                        .setTempDir(temporaryFolder.getRoot()))
+                .memoryMapped(true)
+                .build();
+
+        assertThat(extract(loader), equalTo(extract(ChartLoader.DEFAULT)));
+    }
+
+    @Test
+    public void load_WithMixedMemoryUsage_ExtractsSameCharacters() throws Exception {
+        ChartLoader loader = new ChartLoader.Builder()
+                .memoryUsageSetting(MemoryUsageSetting.setupMixed(64 * 1024)
+                        .setTempDir(temporaryFolder.getRoot()))
+                .sharedFonts(false)
+                .build();
+
+        assertThat(extract(loader), equalTo(extract(ChartLoader.DEFAULT)));
+    }
+
+    @Test
+    public void partitioned_WithRestrictedMemory_DividesMemoryBetweenDocuments() throws Exception {
+        ChartLoader loader = new ChartLoader.Builder()
+                .memoryUsageSetting(MemoryUsageSetting.setupMixed(4 * 1024 * 1024))
+                .build();
+
+        ChartLoader partitioned = loader.partitioned(4);
+
+        assertThat(partitioned.getMemoryUsageSetting().getMaxMainMemoryBytes(),
+                equalTo(1024 * 1024L));
+        assertThat(partitioned.isSharedFonts(), equalTo(loader.isSharedFonts()));
+    }
+
+    private ChartPage extract(ChartLoader loader) throws Exception {
+        try (PDDocument raceCharts = loader.load(sampleCharts.getPdfChartsFile())) {
+            return new ChartCharacterStreamEngine().stripChartPage(raceCharts);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+import com.robinhowlett.chartparser.charts.text.ChartPageCache.CachedChartPages;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartPageCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void get_WithCachedSampleChartPages_ReturnsIdenticalPages() throws Exception {
+        List<ChartPage> pages = new ArrayList<>();
+        for (int i = 0; i < sampleCharts.getCsvCharts().size(); i++) {
+            pages.add(sampleCharts.getSampleChartPage(i));
+        }
+        ChartPageCache cache = new ChartPageCache(temporaryFolder.getRoot().toPath());
+
+        cache.put("sample", pages);
+        Optional<CachedChartPages> cachedChartPages = cache.get("sample");
+
+        assertThat(cachedChartPages.isPresent(), equalTo(true));
+        assertThat(cachedChartPages.get().getPageCount(), equalTo(pages.size()));
+        for (int i = 0; i < pages.size(); i++) {
+            assertThat(cachedChartPages.get().getPage(i + 1), equalTo(pages.get(i)));
+        }
+    }
+
+    @Test
+    public void get_WithUncachedKey_ReturnsEmpty() throws Exception {
+        ChartPageCache cache = new ChartPageCache(temporaryFolder.getRoot().toPath());
+
+        assertThat(cache.get("missing").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void get_WithFileFromAnotherVersion_ReturnsEmpty() throws Exception {
+        ChartPageCache cache = new ChartPageCache(temporaryFolder.getRoot().toPath());
+        List<ChartPage> pages = new ArrayList<>();
+        pages.add(sampleCharts.getSampleChartPage(0));
+        cache.put("sample", pages);
+
+        // rewrite the version stored after the magic number and its length
+        byte[] bytes = Files.readAllBytes(cache.getPath("sample"));
+        bytes[6] = (byte) (bytes[6] + 1);
+        Files.write(cache.getPath("sample"), bytes);
+
+        assertThat(cache.get("sample").isPresent(), equalTo(false));
+    }
+}
@@ -0,0 +1,91 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.TestChartResources;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+public class ChartSourceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void of_WithFile_IsLabelledWithFileName() throws Exception {
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+
+        assertThat(ChartSource.of(pdfChartFile).getLabel(), equalTo(pdfChartFile.getName()));
+        assertThat(ChartSource.of(pdfChartFile.toPath()).getLabel(),
+                equalTo(pdfChartFile.getName()));
+    }
+
+    @Test
+    public void sha256Hex_WithSameBytesFromEachSource_HasSameDigest() throws Exception {
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+        byte[] bytes = Files.readAllBytes(pdfChartFile.toPath());
+        String expected = ChartPageCache.createKey(pdfChartFile);
+
+        assertThat(ChartSource.of(bytes, "bytes").sha256Hex(), equalTo(expected));
+        assertThat(ChartSource.of(new ByteArrayInputStream(bytes), "stream").sha256Hex(),
+                equalTo(expected));
+    }
+
+    @Test
+    public void of_WithBufferFromPosition_ReadsRemainingBytesWithoutMovingBuffer()
+            throws Exception {
+        byte[] bytes = Files.readAllBytes(sampleCharts.getPdfChartsFile().toPath());
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3);
+
+        ChartSource chartSource = ChartSource.of(buffer, "buffer");
+
+        assertThat(chartSource.sha256Hex(), equalTo(ChartSource.of(bytes, "bytes").sha256Hex()));
+        try (PDDocument raceCharts = ChartLoader.DEFAULT.load(chartSource)) {
+            assertThat(raceCharts.getNumberOfPages(), equalTo(9));
+        }
+        assertThat(buffer.position(), equalTo(3));
+    }
+
+    @Test
+    public void of_WithPathOnAnotherFileSystem_ReadsThroughFileSystem() throws Exception {
+        File pdfChartFile = sampleCharts.getPdfChartsFile();
+        Path zipFile = temporaryFolder.getRoot().toPath().resolve("charts.zip");
+        URI zipUri = URI.create("jar:" + zipFile.toUri());
+        try (FileSystem zipFileSystem = FileSystems.newFileSystem(zipUri,
+                Collections.singletonMap("create", "true"))) {
+            Path pdfChartPath = zipFileSystem.getPath("/charts", pdfChartFile.getName());
+            Files.createDirectories(pdfChartPath.getParent());
+            Files.copy(pdfChartFile.toPath(), pdfChartPath);
+
+            ChartSource chartSource = ChartSource.of(pdfChartPath);
+
+            assertThat(chartSource.getLabel(), equalTo(pdfChartFile.getName()));
+            assertThat(chartSource.sha256Hex(), equalTo(ChartPageCache.createKey(pdfChartFile)));
+            for (boolean memoryMapped : new boolean[]{false, true}) {
+                ChartLoader loader = new ChartLoader.Builder().memoryMapped(memoryMapped).build();
+                try (PDDocument raceCharts = loader.load(chartSource)) {
+                    assertThat(raceCharts.getNumberOfPages(), equalTo(9));
+                }
+            }
+        }
+    }
+}
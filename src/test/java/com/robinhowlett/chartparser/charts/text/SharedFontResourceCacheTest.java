@@ -0,0 +1,67 @@
+package com.robinhowlett.chartparser.charts.text;
+
+import com.robinhowlett.chartparser.TestChartResources;
+import com.robinhowlett.chartparser.charts.pdf.ChartPage;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.robinhowlett.chartparser.charts.text.SharedFontResourceCache.useSharedFonts;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class SharedFontResourceCacheTest {
+
+    private static final COSName EMBEDDED_FONT = COSName.getPDFName("F58");
+
+    private TestChartResources sampleCharts = new TestChartResources();
+
+    @Test
+    public void getFont_WithSameFontInAnotherDocument_ReusesDecodedFont() throws Exception {
+        PDFont font = getEmbeddedFont();
+
+        assertThat(getEmbeddedFont(), sameInstance(font));
+    }
+
+    @Test
+    public void getFont_WithSameFontOnAnotherThread_DecodesItsOwnFont() throws Exception {
+        PDFont font = getEmbeddedFont();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(this::getEmbeddedFont).get(), not(sameInstance(font)));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void stripChartPage_WithSharedFonts_MatchesDocumentFonts() throws Exception {
+        ChartPage expected;
+        try (PDDocument raceCharts = sampleCharts.getCharts()) {
+            expected = new ChartCharacterStreamEngine().stripChartPage(raceCharts);
+        }
+
+        // the second document uses the fonts decoded for the first
+        for (int i = 0; i < 2; i++) {
+            try (PDDocument raceCharts = useSharedFonts(sampleCharts.getCharts())) {
+                ChartPage page = new ChartCharacterStreamEngine().stripChartPage(raceCharts);
+
+                assertThat(page, equalTo(expected));
+            }
+        }
+    }
+
+    private PDFont getEmbeddedFont() throws Exception {
+        try (PDDocument raceCharts = useSharedFonts(sampleCharts.getCharts())) {
+            return raceCharts.getPage(0).getResources().getFont(EMBEDDED_FONT);
+        }
+    }
+}
@@ -9,17 +9,23 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.robinhowlett.chartparser.ChartParser.getObjectMapper;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 public class FractionalServiceTest {
 
     private TestChartResources sampleCharts = new TestChartResources();
 
+    private FractionalPointRepository repository =
+            new FractionalPointRepository(getObjectMapper());
+
     @Test
     public void calculateMillisecondsForFraction_WithVariousFractions_ConvertsToMillisCorrectly()
             throws Exception {
@@ -44,16 +50,90 @@ public class FractionalServiceTest {
 
         List<String> fractions = Arrays.asList("22.88", "46.50", "59.31", "1:12.98");
 
-        FractionalPointRepository repository = mock(FractionalPointRepository.class);
-        when(repository.findAll()).thenReturn(sampleCharts.getFractionalTimePoints());
-
         FractionalService fractionalService = new FractionalService(repository);
         List<FractionalPoint.Fractional> fractionals =
                 fractionalService.getFractionalPointsForDistance(fractions, 3960,
                         Breed.THOROUGHBRED);
 
-        verify(repository).findAll();
+        assertThat(fractionals, equalTo(expected));
+        assertThat(repository.findAll(), equalTo(sampleCharts.getFractionalTimePoints()));
+    }
+
+    @Test
+    public void getFractionalPointsForDistance_WithMissingFractions_LeavesSharedPointsUnchanged()
+            throws Exception {
+        List<FractionalPoint.Fractional> expected = new ArrayList<>();
+        expected.add(new FractionalPoint.Fractional(1, "1/4", 1320, "0:22.880", 22880L));
+        expected.add(new FractionalPoint.Fractional(6, "Fin", 3960, "1:12.980", 72980L));
+
+        List<String> fractions = Arrays.asList("22.88", "1:12.98");
+
+        FractionalService fractionalService = new FractionalService(repository);
+        List<FractionalPoint.Fractional> fractionals =
+                fractionalService.getFractionalPointsForDistance(fractions, 3960,
+                        Breed.THOROUGHBRED);
 
         assertThat(fractionals, equalTo(expected));
+        assertThat(repository.findAll(), equalTo(sampleCharts.getFractionalTimePoints()));
+    }
+
+    @Test
+    public void getFractionalPointsForDistance_WithRacesOnManyThreads_ReturnsEachRacesFractionals()
+            throws Exception {
+        FractionalService fractionalService = new FractionalService(repository);
+        List<Race> races = Arrays.asList(
+                new Race(Arrays.asList("22.88", "46.50", "59.31", "1:12.98"), 3960),
+                new Race(Arrays.asList("22.88", "1:12.98"), 3960),
+                new Race(Arrays.asList("23.61", "47.02", "1:11.48", "1:36.85"), 5280),
+                new Race(Arrays.asList("21.95", "N/A", "57.80"), 3300));
+
+        // what each race's fractionals are when parsed on their own
+        List<List<FractionalPoint.Fractional>> expected = new ArrayList<>();
+        for (Race race : races) {
+            expected.add(fractionalService.getFractionalPointsForDistance(race.fractions,
+                    race.distanceInFeet, Breed.THOROUGHBRED));
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < threads; thread++) {
+                int first = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                        int race = (first + i) % races.size();
+                        List<FractionalPoint.Fractional> fractionals =
+                                fractionalService.getFractionalPointsForDistance(
+                                        races.get(race).fractions,
+                                        races.get(race).distanceInFeet, Breed.THOROUGHBRED);
+                        if (!fractionals.equals(expected.get(race))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), equalTo(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(repository.findAll(), equalTo(sampleCharts.getFractionalTimePoints()));
+    }
+
+    private static class Race {
+        private final List<String> fractions;
+        private final int distanceInFeet;
+
+        private Race(List<String> fractions, int distanceInFeet) {
+            this.fractions = fractions;
+            this.distanceInFeet = distanceInFeet;
+        }
     }
 }
@@ -0,0 +1,79 @@
+package com.robinhowlett.chartparser.points_of_call;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.robinhowlett.chartparser.charts.pdf.Breed;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall;
+import com.robinhowlett.chartparser.points_of_call.PointsOfCall.PointOfCall.RelativePosition;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class PointsOfCallRepositoryTest {
+
+    private CountingObjectMapper mapper = new CountingObjectMapper();
+    private PointsOfCallRepository repository = new PointsOfCallRepository(mapper);
+
+    @Test
+    public void findForDistance_WithMixedDistances_ReadsEachFileOnce() throws Exception {
+        PointsOfCall shortMixed =
+                repository.findForDistance(Breed.QUARTER_HORSE, "350 Yards", 1050);
+        PointsOfCall longMixed = repository.findForDistance(Breed.MIXED, "Six Furlongs", 3960);
+        PointsOfCall thoroughbred = repository.findForDistance(Breed.THOROUGHBRED, "Six Furlongs",
+                3960);
+        assertThat(mapper.reads, equalTo(3));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(repository.findForDistance(Breed.QUARTER_HORSE, "350 Yards", 1050),
+                    equalTo(shortMixed));
+            assertThat(repository.findForDistance(Breed.MIXED, "Six Furlongs", 3960),
+                    equalTo(longMixed));
+            assertThat(repository.findForDistance(Breed.THOROUGHBRED, "Six Furlongs", 3960),
+                    equalTo(thoroughbred));
+        }
+        assertThat(mapper.reads, equalTo(3));
+
+        assertThat(shortMixed.getDistance(), equalTo("330 Yards and Longer"));
+        assertThat(repository.findByBreed(Breed.QUARTER_HORSE, "350 Yards").first().getDistance(),
+                equalTo("Less than 330 yards"));
+    }
+
+    @Test
+    public void findForDistance_WhenCopyIsChanged_ReturnsUnchangedPointsOfCall() throws Exception {
+        PointsOfCall expected = repository.findForDistance(Breed.QUARTER_HORSE, "350 Yards", 1050);
+
+        PointsOfCall pointsOfCall =
+                repository.findForDistance(Breed.QUARTER_HORSE, "350 Yards", 1050);
+        for (PointOfCall pointOfCall : pointsOfCall.getCalls()) {
+            pointOfCall.setRelativePosition(new RelativePosition(1, null));
+            pointOfCall.setFeet(1050);
+        }
+        pointsOfCall.getCalls().removeIf(pointOfCall -> pointOfCall.getText().equals("Str1"));
+
+        PointsOfCall actual = repository.findForDistance(Breed.QUARTER_HORSE, "350 Yards", 1050);
+        assertThat(actual, equalTo(expected));
+        assertThat(actual.getCalls().size(), equalTo(4));
+        assertThat(actual.getCalls().get(0).getRelativePosition(), nullValue());
+    }
+
+    @Test
+    public void findForDistance_WithShorterThanAnyFloor_ReturnsNull() throws Exception {
+        assertThat(repository.findForDistance(Breed.THOROUGHBRED, "Short", -1), nullValue());
+    }
+
+    private static class CountingObjectMapper extends ObjectMapper {
+        private int reads;
+
+        @Override
+        public <T> T readValue(InputStream src, TypeReference valueTypeRef) throws IOException {
+            reads++;
+            return super.readValue(src, valueTypeRef);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.robinhowlett.chartparser.tracks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class TrackRepositoryTest {
+
+    private CountingCsvMapper csvMapper = new CountingCsvMapper();
+    private TrackRepository repository = new TrackRepository(csvMapper);
+
+    @Test
+    public void findByCode_WithUntrimmedCode_ReturnsTrack() throws Exception {
+        Optional<Track> track = repository.findByCode(" ARP ");
+
+        assertThat(track.isPresent(), equalTo(true));
+        assertThat(track.get().getName(), equalTo("ARAPAHOE PARK"));
+    }
+
+    @Test
+    public void findByName_WithUnknownName_ReturnsEmpty() throws Exception {
+        assertThat(repository.findByName("NOT A TRACK").isPresent(), equalTo(false));
+    }
+
+    @Test
+    public void findByName_WithEveryTrack_MatchesFirstTrackInFile() throws Exception {
+        List<Track> tracks = repository.findAll();
+        assertThat(tracks.size(), greaterThan(1000));
+
+        for (Track track : tracks) {
+            Track expected = null;
+            for (Track candidate : tracks) {
+                if (candidate.getName().trim().equals(track.getName().trim())) {
+                    expected = candidate;
+                    break;
+                }
+            }
+
+            assertThat(repository.findByName(track.getName()).get(), sameInstance(expected));
+        }
+        assertThat(csvMapper.reads, equalTo(1));
+    }
+
+    @Test
+    public void reload_AfterLookups_ReadsFileAgain() throws Exception {
+        List<Track> tracks = repository.findAll();
+        repository.findByCode("ARP");
+        assertThat(csvMapper.reads, equalTo(1));
+
+        repository.reload();
+
+        assertThat(csvMapper.reads, equalTo(2));
+        assertThat(repository.findAll(), not(sameInstance(tracks)));
+        assertThat(repository.findAll(), equalTo(tracks));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void findAll_WhenModified_ThrowsUnsupportedOperationException() throws Exception {
+        repository.findAll().clear();
+    }
+
+    private static class CountingCsvMapper extends CsvMapper {
+        private int reads;
+
+        @Override
+        public ObjectReader readerFor(Class<?> type) {
+            reads++;
+            return super.readerFor(type);
+        }
+    }
+}